@@ -0,0 +1,81 @@
+package com.anniversary.video.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 클립 연결: 순수 Java remux(Mp4Concatenator) vs ffmpeg -f concat -c copy.
+ * 입력은 운영 클립 규격(clipEncodeArgs)으로 lavfi testsrc2 를 인코딩한 1080p/30fps 클립.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConcatBenchmark {
+
+    /** 주문 1건 기준 — 사진 10장 + 인트로/아웃트로 */
+    @Param({"12"})
+    public int clipCount;
+
+    @Param({"5"})
+    public int clipSeconds;
+
+    private Path workDir;
+    private List<Path> clips;
+    private Path concatList;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("concat-bench");
+        clips = new ArrayList<>();
+        StringBuilder list = new StringBuilder();
+        for (int i = 0; i < clipCount; i++) {
+            Path clip = workDir.resolve("clip_" + i + ".mp4");
+            List<String> cmd = new ArrayList<>(List.of("ffmpeg", "-y", "-v", "error",
+                    "-f", "lavfi", "-i", "testsrc2=size=1920x1080:rate=30:duration=" + clipSeconds));
+            cmd.addAll(List.of(FfmpegService.clipEncodeArgs(18, "medium")));
+            cmd.add(clip.toString());
+            run(cmd);
+            clips.add(clip);
+            list.append("file '").append(clip.toAbsolutePath()).append("'\n");
+        }
+        concatList = Files.writeString(workDir.resolve("concat.txt"), list.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> walk = Files.walk(workDir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long remux() throws IOException {
+        Path out = workDir.resolve("merged_remux.mp4");
+        Mp4Concatenator.concat(clips, out);
+        return Files.size(out);
+    }
+
+    @Benchmark
+    public long ffmpegConcat() throws Exception {
+        Path out = workDir.resolve("merged_ffmpeg.mp4");
+        run(List.of("ffmpeg", "-y", "-v", "error", "-f", "concat", "-safe", "0",
+                "-i", concatList.toString(), "-c", "copy", out.toString()));
+        return Files.size(out);
+    }
+
+    private static void run(List<String> cmd) throws Exception {
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("ffmpeg 실패: " + output);
+        }
+    }
+}
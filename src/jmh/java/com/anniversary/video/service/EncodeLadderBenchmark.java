@@ -0,0 +1,202 @@
+package com.anniversary.video.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 클립 인코딩 프로파일 사다리 — ./gradlew encodeLadder -Pcorpus=<샘플 AI 클립 디렉터리>
+ * <p>
+ * 코퍼스의 각 클립을 정규화 필터(NORMALIZE_FILTER)로 무손실 기준본을 만든 뒤,
+ * preset × CRF 조합마다 운영과 같은 clipEncodeArgs 로 인코딩해
+ * 인코딩 속도(실시간 배수), 비트레이트, SSIM/PSNR(ffmpeg 내장 필터)을 측정.
+ * 조합별 평균으로 Pareto frontier(시간↓·비트레이트↓·SSIM↑)를 구해 CSV/HTML 로 출력하고,
+ * 기준 SSIM 이상인 frontier 점 중 가장 빠른 조합을 video.encode.* 추천값으로 제시.
+ */
+public class EncodeLadderBenchmark {
+
+    private static final List<String> PRESETS = List.of("ultrafast", "veryfast", "faster", "fast", "medium", "slow");
+    private static final List<Integer> CRFS   = List.of(16, 18, 20, 22, 24, 26);
+
+    /** 추천 기준 — 이 SSIM 이상이면 육안 차이 없음으로 간주 */
+    private static final double TARGET_SSIM = 0.98;
+
+    public static void main(String[] args) throws Exception {
+        Path corpus = Paths.get(args.length > 0 ? args[0] : "bench-corpus");
+        Path outDir = Paths.get(args.length > 1 ? args[1] : "build/reports/encode-ladder");
+        Files.createDirectories(outDir);
+
+        List<Path> clips;
+        try (Stream<Path> files = Files.list(corpus)) {
+            clips = files.filter(p -> p.toString().endsWith(".mp4")).sorted().collect(Collectors.toList());
+        }
+        if (clips.isEmpty()) {
+            throw new IllegalArgumentException("코퍼스에 mp4 클립이 없습니다: " + corpus.toAbsolutePath());
+        }
+
+        Path work = Files.createTempDirectory("encode-ladder");
+        List<Path> references = new ArrayList<>();
+        for (Path clip : clips) {
+            Path reference = work.resolve("ref_" + clip.getFileName());
+            ffmpeg("-i", clip.toString(), "-vf", FfmpegService.NORMALIZE_FILTER,
+                    "-c:v", "libx264", "-qp", "0", "-preset", "ultrafast", "-pix_fmt", "yuv420p", "-an",
+                    reference.toString());
+            references.add(reference);
+        }
+
+        List<Point> points = new ArrayList<>();
+        for (String preset : PRESETS) {
+            for (int crf : CRFS) {
+                points.add(measure(preset, crf, clips, references, work));
+                Point p = points.get(points.size() - 1);
+                System.out.printf(Locale.ROOT, "%-9s crf=%2d  %.2fx realtime  %6.0f kbps  ssim=%.4f  psnr=%.2f%n",
+                        preset, crf, p.realtimeFactor(), p.kbps(), p.ssim(), p.psnr());
+            }
+        }
+
+        List<Point> frontier = paretoFrontier(points);
+        writeCsv(outDir.resolve("encode-ladder.csv"), points, frontier);
+        writeHtml(outDir.resolve("encode-ladder.html"), points, frontier);
+
+        frontier.stream()
+                .filter(p -> p.ssim() >= TARGET_SSIM)
+                .min(Comparator.comparingDouble(Point::encodeSecPerSec).thenComparingDouble(Point::kbps))
+                .ifPresentOrElse(
+                        p -> System.out.printf(Locale.ROOT,
+                                "추천 (SSIM ≥ %.2f 중 최단 인코딩):%n  video.encode.preset=%s%n  video.encode.crf=%d%n",
+                                TARGET_SSIM, p.preset(), p.crf()),
+                        () -> System.out.println("SSIM ≥ " + TARGET_SSIM + " 을 만족하는 조합이 없습니다"));
+        System.out.println("결과: " + outDir.toAbsolutePath());
+    }
+
+    /** 코퍼스 전체를 한 조합으로 인코딩 — 클립별 값의 평균 (비트레이트는 총 용량/총 길이) */
+    private static Point measure(String preset, int crf, List<Path> clips, List<Path> references, Path work)
+            throws Exception {
+        double encodeSec = 0, mediaSec = 0, bits = 0, ssim = 0, psnr = 0;
+        for (int i = 0; i < clips.size(); i++) {
+            Path out = work.resolve(preset + "_" + crf + "_" + i + ".mp4");
+            List<String> args = new ArrayList<>(List.of("-i", clips.get(i).toString(),
+                    "-vf", FfmpegService.NORMALIZE_FILTER));
+            args.addAll(List.of(FfmpegService.clipEncodeArgs(crf, preset)));
+            args.add(out.toString());
+
+            long started = System.nanoTime();
+            ffmpeg(args.toArray(String[]::new));
+            encodeSec += (System.nanoTime() - started) / 1e9;
+
+            mediaSec += duration(out);
+            bits     += Files.size(out) * 8.0;
+            VideoQuality.Score quality = VideoQuality.measure(out, references.get(i));
+            psnr += quality.psnr();
+            ssim += quality.ssim();
+            Files.delete(out);
+        }
+        int n = clips.size();
+        return new Point(preset, crf, encodeSec / mediaSec, bits / mediaSec / 1000, ssim / n, psnr / n);
+    }
+
+    /** 다른 점에 시간·비트레이트·SSIM 모두 같거나 뒤지고 하나라도 엄격히 뒤지면 제외 */
+    static List<Point> paretoFrontier(List<Point> points) {
+        return points.stream()
+                .filter(p -> points.stream().noneMatch(q -> q != p && q.dominates(p)))
+                .sorted(Comparator.comparingDouble(Point::kbps))
+                .collect(Collectors.toList());
+    }
+
+    // ── 출력 ────────────────────────────────────────────────────────────────
+    private static void writeCsv(Path file, List<Point> points, List<Point> frontier) throws IOException {
+        StringBuilder csv = new StringBuilder("preset,crf,encode_sec_per_sec,realtime_factor,kbps,ssim,psnr,pareto\n");
+        for (Point p : points) {
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.4f,%.3f,%.1f,%.5f,%.3f,%b%n",
+                    p.preset(), p.crf(), p.encodeSecPerSec(), p.realtimeFactor(), p.kbps(), p.ssim(), p.psnr(),
+                    frontier.contains(p)));
+        }
+        Files.writeString(file, csv);
+    }
+
+    /** 비트레이트(x) × SSIM(y) 산점도, 원 크기 = 인코딩 시간, frontier 는 강조 + 연결선 */
+    private static void writeHtml(Path file, List<Point> points, List<Point> frontier) throws IOException {
+        int w = 760, h = 420, pad = 50;
+        double maxKbps = points.stream().mapToDouble(Point::kbps).max().orElse(1);
+        double minSsim = points.stream().mapToDouble(Point::ssim).min().orElse(0);
+        double maxTime = points.stream().mapToDouble(Point::encodeSecPerSec).max().orElse(1);
+
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT, "<svg width='%d' height='%d' style='background:#fff'>", w, h));
+        svg.append(String.format(Locale.ROOT,
+                "<text x='%d' y='%d' font-size='12'>bitrate (kbps) →</text>" +
+                "<text x='8' y='%d' font-size='12'>SSIM ↑</text>", w - 130, h - 10, pad - 20));
+        ToDoubleFunction<Point> xOf = p -> pad + (w - 2 * pad) * p.kbps() / maxKbps;
+        ToDoubleFunction<Point> yOf = p -> h - pad - (h - 2 * pad) * (p.ssim() - minSsim) / Math.max(1e-6, 1 - minSsim);
+        for (Point p : points) {
+            double r = 3 + 9 * p.encodeSecPerSec() / maxTime;
+            svg.append(String.format(Locale.ROOT,
+                    "<circle cx='%.1f' cy='%.1f' r='%.1f' fill='%s' fill-opacity='0.7'>" +
+                    "<title>%s crf%d — %.0f kbps, SSIM %.4f, %.2fx realtime</title></circle>",
+                    xOf.applyAsDouble(p), yOf.applyAsDouble(p), r, frontier.contains(p) ? "#d9480f" : "#adb5bd",
+                    p.preset(), p.crf(), p.kbps(), p.ssim(), p.realtimeFactor()));
+        }
+        // 연결선은 비트레이트 순으로 정렬된 frontier 를 따라 (측정 순서로 잇으면 지그재그)
+        StringBuilder line = new StringBuilder();
+        for (Point p : frontier) {
+            line.append(String.format(Locale.ROOT, "%.1f,%.1f ", xOf.applyAsDouble(p), yOf.applyAsDouble(p)));
+        }
+        svg.append("<polyline fill='none' stroke='#d9480f' points='").append(line).append("'/></svg>");
+
+        StringBuilder rows = new StringBuilder();
+        for (Point p : frontier) {
+            rows.append(String.format(Locale.ROOT,
+                    "<tr><td>%s</td><td>%d</td><td>%.2fx</td><td>%.0f</td><td>%.4f</td><td>%.2f</td></tr>",
+                    p.preset(), p.crf(), p.realtimeFactor(), p.kbps(), p.ssim(), p.psnr()));
+        }
+
+        Files.writeString(file, "<!DOCTYPE html><html lang='ko'><head><meta charset='UTF-8'>" +
+                "<title>인코딩 프로파일 사다리</title>" +
+                "<style>body{font-family:sans-serif;margin:24px}td,th{padding:4px 10px;text-align:right}" +
+                "th{background:#f1f3f5}</style></head><body>" +
+                "<h2>preset × CRF — Pareto frontier</h2>" + svg +
+                "<table><tr><th>preset</th><th>crf</th><th>실시간 배수</th><th>kbps</th><th>SSIM</th><th>PSNR</th></tr>" +
+                rows + "</table></body></html>");
+    }
+
+    // ── ffmpeg 실행/측정 ────────────────────────────────────────────────────
+    private static double duration(Path video) throws Exception {
+        Process process = new ProcessBuilder("ffprobe", "-v", "error", "-show_entries", "format=duration",
+                "-of", "csv=p=0", video.toString()).redirectErrorStream(true).start();
+        String out = new String(process.getInputStream().readAllBytes()).trim();
+        process.waitFor();
+        return Double.parseDouble(out);
+    }
+
+    private static String ffmpeg(String... args) throws Exception {
+        List<String> cmd = new ArrayList<>(List.of("ffmpeg", "-y", "-hide_banner"));
+        cmd.addAll(List.of(args));
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("ffmpeg 실패:\n" + output);
+        }
+        return output;
+    }
+
+    record Point(String preset, int crf, double encodeSecPerSec, double kbps, double ssim, double psnr) {
+
+        double realtimeFactor() {
+            return 1 / encodeSecPerSec;
+        }
+
+        boolean dominates(Point other) {
+            boolean noWorse = encodeSecPerSec <= other.encodeSecPerSec && kbps <= other.kbps && ssim >= other.ssim;
+            boolean better  = encodeSecPerSec < other.encodeSecPerSec || kbps < other.kbps || ssim > other.ssim;
+            return noWorse && better;
+        }
+    }
+}
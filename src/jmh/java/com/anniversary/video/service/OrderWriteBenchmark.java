@@ -0,0 +1,262 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.dto.OrderCreateRequest;
+import com.anniversary.video.repository.OrderPhotoRepository;
+import com.anniversary.video.repository.OrderRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 주문 쓰기 경로 DB 왕복 벤치마크 — ./gradlew orderWriteBenchmark
+ * <p>
+ * 실제 OrderService.createOrder / handleUploadComplete 를 Spring Data JPA + Hibernate 위에서 호출하고,
+ * H2(MySQL 모드) 앞에 둔 JDBC 프록시로 DB 왕복(execute* / executeBatch / commit)을 셈.
+ * 왕복마다 rtt 만큼 지연을 넣어 네트워크 너머 MySQL 을 흉내냄.
+ * <ul>
+ *   <li>legacy — 같은 엔티티를 IDENTITY 로 덮어쓴 매핑(bench/identity-orm.xml) + 배치 없음 (변경 전 설정)</li>
+ *   <li>current — 운영 매핑(풀링 시퀀스) + batch_size 50 / order_inserts / order_updates (application.properties)</li>
+ * </ul>
+ * S3 서명·이벤트 로깅(운영에서는 @Async)은 DB 왕복이 아니므로 스텁으로 대체.
+ * 인자: [출력 디렉터리] [사진 수=10] [주문 수=200] [왕복 지연 µs=500]
+ */
+public class OrderWriteBenchmark {
+
+    private static final Set<String> ROUND_TRIPS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate",
+            "executeBatch", "executeLargeBatch", "commit", "rollback");
+
+    public static void main(String[] args) throws Exception {
+        Path outDir = Paths.get(args.length > 0 ? args[0] : "build/reports/order-write-benchmark");
+        int photoCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int orders = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        long rttMicros = args.length > 3 ? Long.parseLong(args[3]) : 500;
+        Files.createDirectories(outDir);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean current : new boolean[]{false, true}) {
+            Result result = run(current, photoCount, orders, rttMicros);
+            results.add(result);
+            System.out.printf("%-8s 생성: %5.1f 왕복 %6.2fms | 업로드 완료: %5.1f 왕복 %6.2fms%n",
+                    result.config(), result.createRoundTrips(), result.createMillis(),
+                    result.uploadRoundTrips(), result.uploadMillis());
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("photoCount", photoCount);
+        report.put("orders", orders);
+        report.put("rttMicros", rttMicros);
+        report.put("results", results);
+
+        Path file = outDir.resolve("order-write-benchmark-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("결과: " + file.toAbsolutePath());
+    }
+
+    private static Result run(boolean current, int photoCount, int orders, long rttMicros) {
+        String name = current ? "current" : "legacy";
+        AtomicLong roundTrips = new AtomicLong();
+        DataSource h2 = new DriverManagerDataSource(
+                "jdbc:h2:mem:order-bench-" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+
+        // 명령행 인자로 넘김 — 기본 속성(properties())은 application.properties(local 프로필·batch_size 50)에 덮임
+        List<String> properties = new ArrayList<>(List.of(
+                "--spring.profiles.active=bench",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.anniversary=WARN",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.open-in-view=false"));
+        if (current) {
+            properties.add("--spring.jpa.properties.hibernate.jdbc.batch_size=50");
+            properties.add("--spring.jpa.properties.hibernate.order_inserts=true");
+            properties.add("--spring.jpa.properties.hibernate.order_updates=true");
+        } else {
+            properties.add("--spring.jpa.mapping-resources=bench/identity-orm.xml");
+            properties.add("--spring.jpa.properties.hibernate.jdbc.batch_size=0");
+            properties.add("--spring.jpa.properties.hibernate.order_inserts=false");
+            properties.add("--spring.jpa.properties.hibernate.order_updates=false");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BenchConfig.class)
+                .web(WebApplicationType.NONE)
+                .initializers(ctx -> ctx.getBeanFactory().registerSingleton(
+                        "dataSource", counting(h2, roundTrips, rttMicros)))
+                .run(properties.toArray(String[]::new))) {
+            OrderService orderService = context.getBean(OrderService.class);
+
+            // 워밍업 (시퀀스 첫 할당·구문 캐시) 후 측정
+            for (int i = 0; i < 20; i++) {
+                Long orderId = createOrder(orderService, photoCount, i);
+                orderService.markAsPaid(orderId, "bench-" + orderId);
+                uploadComplete(orderService, orderId, photoCount);
+            }
+
+            long createTrips = 0, createNanos = 0, uploadTrips = 0, uploadNanos = 0;
+            for (int i = 0; i < orders; i++) {
+                long trips = roundTrips.get(), start = System.nanoTime();
+                Long orderId = createOrder(orderService, photoCount, 1000 + i);
+                createNanos += System.nanoTime() - start;
+                createTrips += roundTrips.get() - trips;
+
+                orderService.markAsPaid(orderId, "bench-" + orderId);   // 측정 밖 — 업로드 완료는 PAID 주문만
+
+                trips = roundTrips.get();
+                start = System.nanoTime();
+                uploadComplete(orderService, orderId, photoCount);
+                uploadNanos += System.nanoTime() - start;
+                uploadTrips += roundTrips.get() - trips;
+            }
+            return new Result(name, (double) createTrips / orders, createNanos / 1e6 / orders,
+                    (double) uploadTrips / orders, uploadNanos / 1e6 / orders);
+        }
+    }
+
+    /** 고객마다 다른 전화번호 — 이어하기(같은 고객의 PAID 주문) 분기를 타지 않게 */
+    private static Long createOrder(OrderService orderService, int photoCount, int customer) {
+        OrderCreateRequest request = new OrderCreateRequest();
+        request.setCustomerName("벤치마크");
+        request.setCustomerPhone(String.format("010%08d", customer));
+        request.setPhotoCount(photoCount);
+        request.setBgmTrack("bgm_01");
+        return orderService.createOrder(request).getOrderId();
+    }
+
+    /** 주문 생성 때 만든 슬롯 키에 캡션을 붙여 제출 — 사진 행은 차등 반영(수정)만 */
+    private static void uploadComplete(OrderService orderService, Long orderId, int photoCount) {
+        List<Map<String, String>> photos = new ArrayList<>();
+        for (int i = 0; i < photoCount; i++) {
+            photos.add(Map.of("s3Key", String.format("uploads/%d/photo_%02d.jpg", orderId, i), "caption", "캡션 " + i));
+        }
+        orderService.handleUploadComplete(orderId, Map.of("photos", photos), Map.of());
+    }
+
+    /** 주문 쓰기 경로에 필요한 것만 — JPA·트랜잭션 자동 설정 + 실제 OrderService, DB 밖 협력 객체는 스텁 */
+    @Configuration
+    @ImportAutoConfiguration({HibernateJpaAutoConfiguration.class, JpaRepositoriesAutoConfiguration.class,
+            TransactionAutoConfiguration.class})
+    @EntityScan("com.anniversary.video.domain")
+    @EnableJpaRepositories("com.anniversary.video.repository")
+    static class BenchConfig {
+
+        @Bean
+        S3Service s3Service() {
+            return new S3Service(null, null, null, "s3", 0, Duration.ZERO) {
+                @Override
+                public PresignedUploadInfo generateUploadUrl(Long orderId, int index) {
+                    String key = "uploads/" + orderId + "/photo_" + String.format("%02d", index) + ".jpg";
+                    return new PresignedUploadInfo(index, "https://bench.invalid/" + key, key);
+                }
+            };
+        }
+
+        @Bean
+        EventLoggingService eventLoggingService() {
+            return new EventLoggingService(null) {
+                @Override
+                public void log(Long orderId, String eventType, String payload) {
+                    // 운영에서는 @Async — 요청 경로의 DB 왕복이 아님
+                }
+            };
+        }
+
+        @Bean
+        PhotoIngestService photoIngestService(S3Service s3Service, OrderPhotoRepository orderPhotoRepository) {
+            return new PhotoIngestService(s3Service, orderPhotoRepository, Runnable::run);
+        }
+
+        @Bean
+        OrderStatusCache orderStatusCache() {
+            return new OrderStatusCache(1000, Duration.ofMinutes(5));
+        }
+
+        @Bean
+        OrderService orderService(OrderRepository orderRepository,
+                                  OrderPhotoRepository orderPhotoRepository, S3Service s3Service,
+                                  EventLoggingService eventLoggingService, PhotoIngestService photoIngestService,
+                                  OrderStatusCache orderStatusCache) {
+            return new OrderService(orderRepository, orderPhotoRepository, s3Service,
+                    eventLoggingService, photoIngestService, orderStatusCache);
+        }
+    }
+
+    /** 왕복(실행·배치·커밋)마다 카운트 + 지연 */
+    private static DataSource counting(DataSource target, AtomicLong roundTrips, long rttMicros) {
+        return proxy(DataSource.class, target, (ds, method, args) -> {
+            Object result = invoke(method, target, args);
+            return result instanceof Connection c ? proxy(Connection.class, c, connectionHandler(c, roundTrips, rttMicros)) : result;
+        });
+    }
+
+    private static InvocationHandler connectionHandler(Connection target, AtomicLong roundTrips, long rttMicros) {
+        return (conn, method, args) -> {
+            Object result = invoke(method, target, args);
+            if (ROUND_TRIPS.contains(method.getName())) roundTrip(roundTrips, rttMicros);
+            if (result instanceof Statement stmt) {
+                // prepareStatement → PreparedStatement 등 선언 타입 그대로 감쌈
+                return proxy(method.getReturnType(), stmt, (s, m, a) -> {
+                    Object r = invoke(m, stmt, a);
+                    if (ROUND_TRIPS.contains(m.getName())) roundTrip(roundTrips, rttMicros);
+                    return r;
+                });
+            }
+            return result;
+        };
+    }
+
+    private static void roundTrip(AtomicLong roundTrips, long rttMicros) {
+        roundTrips.incrementAndGet();
+        if (rttMicros > 0) LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(rttMicros));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<?> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(OrderWriteBenchmark.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(java.lang.reflect.Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    record Result(String config, double createRoundTrips, double createMillis,
+                  double uploadRoundTrips, double uploadMillis) {}
+}
@@ -0,0 +1,322 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.Order;
+import com.anniversary.video.domain.OrderPhoto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * FfmpegService 엔드투엔드 렌더 벤치마크 — ./gradlew renderBenchmark
+ * <p>
+ * lavfi testsrc2 로 해상도·길이가 제각각인 AI 클립 대역을 만들고, S3 는 로컬 디렉터리로 대체.
+ * 구성별로 단계별 wall time, CPU 시간(JVM + ffmpeg/ffprobe 자식), ffmpeg 피크 RSS, 출력 용량,
+ * 기준 렌더(CRF 0 무손실 클립) 대비 master PSNR/SSIM 을 측정해 JSON 으로 남김 — 릴리스 간 회귀 비교용.
+ * Linux 전용 (/proc 사용).
+ */
+public class RenderBenchmark {
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    /** 기준 구성 이름 — 나머지 구성의 PSNR/SSIM 비교 대상 */
+    private static final String REFERENCE = "reference";
+
+    private static final List<RenderConfig> CONFIGS = List.of(
+            new RenderConfig(REFERENCE,          CORES, true,  true,  0,  "ultrafast"),
+            new RenderConfig("current",          CORES, true,  true,  18, "medium"),
+            new RenderConfig("serial-normalize", 1,     true,  true,  18, "medium"),
+            new RenderConfig("ffmpeg-concat",    CORES, false, true,  18, "medium"),
+            new RenderConfig("download-inputs",  CORES, true,  false, 18, "medium"),
+            new RenderConfig("crf18-veryfast",   CORES, true,  true,  18, "veryfast"),
+            new RenderConfig("crf18-fast",       CORES, true,  true,  18, "fast"),
+            new RenderConfig("crf18-slow",       CORES, true,  true,  18, "slow"),
+            new RenderConfig("crf20-medium",     CORES, true,  true,  20, "medium"),
+            new RenderConfig("crf23-medium",     CORES, true,  true,  23, "medium"));
+
+    /** AI 클립 대역 — 가로/세로/저해상도 혼합, 24fps (정규화 단계에서 30fps 로 변환됨) */
+    private static final List<SourceClip> SOURCE_CLIPS = List.of(
+            new SourceClip("1920x1080", 5),
+            new SourceClip("1280x720",  6),
+            new SourceClip("1080x1920", 5),
+            new SourceClip("854x480",   4));
+
+    public static void main(String[] args) throws Exception {
+        Path outDir = Paths.get(args.length > 0 ? args[0] : "build/reports/render-benchmark");
+        int photoCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        Files.createDirectories(outDir);
+
+        Path store = Files.createTempDirectory("render-bench-store");
+        LocalS3Service s3 = new LocalS3Service(store);
+        ScratchSpace scratch = new ScratchSpace(
+                store.resolve("scratch/work").toString(), DataSize.ofGigabytes(8),
+                store.resolve("scratch/output").toString(), DataSize.ofGigabytes(8),
+                DataSize.ofGigabytes(1), Duration.ofMinutes(1));
+        List<OrderPhoto> photos = generateSourceClips(store, photoCount);
+        Order order = Order.builder()
+                .introTitle("벤치마크").outroTitle("감사합니다").bgmTrack("bgm_01").build();
+
+        List<Result> results = new ArrayList<>();
+        Path reference = null;
+        long orderId = 900_000;
+        for (RenderConfig config : CONFIGS) {
+            Result result = run(config, orderId, s3, scratch, photos, order, reference);
+            if (config.name().equals(REFERENCE)) {
+                reference = store.resolve("results/" + orderId + "/final.mp4");
+            }
+            results.add(result);
+            System.out.printf("%-18s wall=%6dms cpu(ffmpeg)=%7dms rss=%7dKB psnr=%s ssim=%s%n",
+                    result.config(), result.wallMillis(), result.ffmpegCpuMillis(),
+                    result.ffmpegPeakRssKb(), result.psnr(), result.ssim());
+            orderId++;
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", LocalDateTime.now().toString());
+        report.put("cores", CORES);
+        report.put("ffmpeg", capture(List.of("ffmpeg", "-version")).lines().findFirst().orElse(""));
+        report.put("photoCount", photoCount);
+        report.put("results", results);
+
+        Path file = outDir.resolve("render-benchmark-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("결과: " + file.toAbsolutePath());
+    }
+
+    private static Result run(RenderConfig config, long orderId, LocalS3Service s3, ScratchSpace scratch,
+                              List<OrderPhoto> photos, Order order, Path reference) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(config.normalizeThreads());
+        try {
+            FfmpegService ffmpeg = new FfmpegService(s3, scratch, pool);
+            ffmpeg.setClipCrf(config.crf());
+            ffmpeg.setClipPreset(config.preset());
+            ffmpeg.setRemuxConcat(config.remux());
+            ffmpeg.setStreamInputs(config.streamInputs());
+            Map<String, Long> stages = new LinkedHashMap<>();
+            ffmpeg.setStageListener((id, s) -> stages.putAll(s));
+
+            RssSampler sampler = new RssSampler();
+            sampler.start();
+            long jvmCpuBefore   = jvmCpuNanos();
+            long childCpuBefore = childCpuMillis();
+            long started = System.nanoTime();
+
+            FfmpegService.RenderOutputs outputs = ffmpeg.mergeClipsWithMusic(orderId, photos, order);
+
+            long wallMillis  = (System.nanoTime() - started) / 1_000_000;
+            long jvmCpu      = (jvmCpuNanos() - jvmCpuBefore) / 1_000_000;
+            long childCpu    = childCpuMillis() - childCpuBefore;
+            long peakRssKb   = sampler.finish();
+
+            Map<String, Long> sizes = new LinkedHashMap<>();
+            sizes.put("master",   Files.size(s3.path(outputs.master())));
+            sizes.put("vertical", Files.size(s3.path(outputs.vertical())));
+            sizes.put("share",    Files.size(s3.path(outputs.share())));
+
+            // 프레임 수가 같아야 의미 있음 (인트로/아웃트로·BGM 동일) — 기준 구성 자신은 측정 안 함
+            VideoQuality.Score quality = reference != null
+                    ? VideoQuality.measure(s3.path(outputs.master()), reference)
+                    : null;
+
+            return new Result(config.name(), config.normalizeThreads(), config.remux(), config.streamInputs(),
+                    config.crf(), config.preset(),
+                    wallMillis, stages, jvmCpu, childCpu, peakRssKb, sizes,
+                    quality != null ? quality.psnr() : null,
+                    quality != null ? quality.ssim() : null);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ── 입력 생성 ───────────────────────────────────────────────────────────
+    private static List<OrderPhoto> generateSourceClips(Path store, int photoCount) throws Exception {
+        Path clipDir = Files.createDirectories(store.resolve("clips/bench"));
+        List<OrderPhoto> photos = new ArrayList<>();
+        for (int i = 0; i < photoCount; i++) {
+            SourceClip source = SOURCE_CLIPS.get(i % SOURCE_CLIPS.size());
+            String key = String.format("clips/bench/clip_%02d.mp4", i);
+            Path clip = clipDir.resolve(String.format("clip_%02d.mp4", i));
+            capture(List.of("ffmpeg", "-y", "-v", "error",
+                    "-f", "lavfi", "-i", "testsrc2=size=" + source.size() + ":rate=24:duration=" + source.seconds(),
+                    "-c:v", "libx264", "-preset", "veryfast", "-crf", "20", "-pix_fmt", "yuv420p",
+                    "-movflags", "+faststart", clip.toString()));
+            photos.add(OrderPhoto.builder()
+                    .sortOrder(i)
+                    .s3Key("uploads/bench/photo_" + i + ".jpg")
+                    .clipS3Key(key)
+                    .caption(i % 2 == 0 ? "우리의 " + (i + 1) + "번째 순간" : null)
+                    .build());
+        }
+        return photos;
+    }
+
+    // ── 측정 ────────────────────────────────────────────────────────────────
+    private static long jvmCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    /** 종료·회수된 자식 프로세스 CPU 합계 — /proc/self/stat cutime + cstime (clock tick) */
+    private static long childCpuMillis() throws IOException {
+        String stat = Files.readString(Paths.get("/proc/self/stat"));
+        String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+        long ticks = Long.parseLong(fields[13]) + Long.parseLong(fields[14]);
+        return ticks * 1000 / ClockTicks.PER_SECOND;
+    }
+
+    private static String capture(List<String> cmd) throws Exception {
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(String.join(" ", cmd) + " 실패:\n" + output);
+        }
+        return output;
+    }
+
+    /** 하위 프로세스(ffmpeg/ffprobe)의 VmHWM(피크 RSS)을 50ms 간격으로 수집, 최대값 */
+    private static final class RssSampler extends Thread {
+        private final AtomicLong peakKb = new AtomicLong();
+        private volatile boolean running = true;
+
+        RssSampler() {
+            setDaemon(true);
+            setName("rss-sampler");
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                ProcessHandle.current().descendants().forEach(p -> peakKb.accumulateAndGet(vmHwmKb(p.pid()), Math::max));
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        long finish() throws InterruptedException {
+            running = false;
+            join();
+            return peakKb.get();
+        }
+
+        private static long vmHwmKb(long pid) {
+            try {
+                for (String line : Files.readAllLines(Paths.get("/proc/" + pid + "/status"))) {
+                    if (line.startsWith("VmHWM:")) {
+                        return Long.parseLong(line.replaceAll("[^0-9]", ""));
+                    }
+                }
+            } catch (IOException | NumberFormatException ignored) {
+                // 샘플링 도중 종료된 프로세스
+            }
+            return 0;
+        }
+    }
+
+    private static final class ClockTicks {
+        static final long PER_SECOND = read();
+
+        private static long read() {
+            try {
+                return Long.parseLong(capture(List.of("getconf", "CLK_TCK")).trim());
+            } catch (Exception e) {
+                return 100;
+            }
+        }
+    }
+
+    /** S3 대체 — 키를 로컬 디렉터리 하위 경로로 매핑 */
+    static final class LocalS3Service extends S3Service {
+        private final Path root;
+
+        LocalS3Service(Path root) {
+            super(null, null, null, "s3", 0, Duration.ZERO);
+            this.root = root;
+        }
+
+        Path path(String key) {
+            return root.resolve(key);
+        }
+
+        @Override
+        public String uploadFile(Path localFile, String s3Key, String contentType) throws IOException {
+            Path target = path(s3Key);
+            Files.createDirectories(target.getParent());
+            Files.copy(localFile, target, StandardCopyOption.REPLACE_EXISTING);
+            return s3Key;
+        }
+
+        @Override
+        public Path downloadToLocal(String s3Key, Path targetPath) throws IOException {
+            return Files.copy(path(s3Key), targetPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        @Override
+        public void downloadAllToLocal(Map<String, Path> targets) throws IOException {
+            for (Map.Entry<String, Path> e : targets.entrySet()) downloadToLocal(e.getKey(), e.getValue());
+        }
+
+        /** 클립 캐시 미사용 — 매 구성이 같은 입력 경로(스트리밍/다운로드)를 타도록 */
+        @Override
+        public boolean isCached(String s3Key) {
+            return false;
+        }
+
+        /** 점진 업로드 미지원 → FfmpegService 가 완료 파일 업로드(uploadFile)로 폴백 */
+        @Override
+        public Optional<MultipartUpload> startMultipartUpload(String s3Key, String contentType) {
+            return Optional.empty();
+        }
+
+        @Override
+        public byte[] downloadRange(String s3Key, long offset, int length) {
+            try (var in = Files.newInputStream(path(s3Key))) {
+                in.skipNBytes(offset);
+                return in.readNBytes(length);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /** 로컬 경로를 그대로 입력으로 — 다운로드(복사) 단계 유무만 비교 */
+        @Override
+        public String generateRenderInputUrl(String s3Key) {
+            return path(s3Key).toString();
+        }
+
+        @Override
+        public String generateDownloadUrl(String s3Key) {
+            return path(s3Key).toUri().toString();
+        }
+    }
+
+    record RenderConfig(String name, int normalizeThreads, boolean remux, boolean streamInputs, int crf, String preset) {}
+
+    record SourceClip(String size, int seconds) {}
+
+    record Result(String config, int normalizeThreads, boolean remux, boolean streamInputs, int crf, String preset,
+                  long wallMillis, Map<String, Long> stageMillis,
+                  long jvmCpuMillis, long ffmpegCpuMillis, long ffmpegPeakRssKb,
+                  Map<String, Long> outputBytes, Double psnr, Double ssim) {}
+}
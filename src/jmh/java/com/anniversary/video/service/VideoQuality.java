@@ -0,0 +1,49 @@
+package com.anniversary.video.service;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 벤치마크 공용 화질 측정 — ffmpeg ssim/psnr 필터로 기준본 대비 SSIM(All)·PSNR(average).
+ * 프레임 수가 같아야 의미 있음. 무손실(PSNR inf)은 IDENTICAL_PSNR 로 기록해서
+ * 평균(EncodeLadderBenchmark)·JSON(RenderBenchmark)에 inf/NaN 이 섞이지 않게 함.
+ * 로그에서 값을 찾지 못하면 0 이나 NaN 으로 덮지 않고 측정 실패로 예외.
+ */
+final class VideoQuality {
+
+    /** 동일 영상의 PSNR (ffmpeg 는 inf) — 8bit 영상에서 실측 최대치보다 충분히 큰 값 */
+    static final double IDENTICAL_PSNR = 100;
+
+    private static final Pattern SSIM_ALL     = Pattern.compile("SSIM .*All:([0-9.]+)");
+    private static final Pattern PSNR_AVERAGE = Pattern.compile("PSNR .*average:([0-9.]+|inf)");
+
+    private VideoQuality() {
+    }
+
+    static Score measure(Path distorted, Path reference) throws Exception {
+        List<String> cmd = List.of("ffmpeg", "-hide_banner",
+                "-i", distorted.toString(), "-i", reference.toString(),
+                "-lavfi", "[0:v]split[d0][d1];[1:v]split[r0][r1];[d0][r0]ssim;[d1][r1]psnr",
+                "-f", "null", "-");
+        Process process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+        String log = new String(process.getInputStream().readAllBytes());
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("ffmpeg 화질 측정 실패:\n" + log);
+        }
+        return parse(log);
+    }
+
+    static Score parse(String ffmpegLog) {
+        Matcher ssim = SSIM_ALL.matcher(ffmpegLog);
+        Matcher psnr = PSNR_AVERAGE.matcher(ffmpegLog);
+        if (!ssim.find() || !psnr.find()) {
+            throw new IllegalStateException("ffmpeg 로그에 SSIM/PSNR 값이 없습니다:\n" + ffmpegLog);
+        }
+        double psnrValue = psnr.group(1).equals("inf") ? IDENTICAL_PSNR : Double.parseDouble(psnr.group(1));
+        return new Score(psnrValue, Double.parseDouble(ssim.group(1)));
+    }
+
+    record Score(double psnr, double ssim) {}
+}
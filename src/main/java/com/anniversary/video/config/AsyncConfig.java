@@ -41,6 +41,52 @@ public class AsyncConfig {
         return executor;
     }
 
+    /**
+     * 클립 정규화 렌더(scale/pad/fps + 자막) 전용 풀
+     * ffmpeg 프로세스가 CPU를 쓰므로 코어 수만큼만 동시 실행.
+     */
+    @Bean(name = "clipRenderExecutor")
+    public Executor clipRenderExecutor() {
+        int cores = Math.max(1, Runtime.getRuntime().availableProcessors());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("ClipRender-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 사진 정규화(디코딩 → 회전 → 축소 → JPEG) 전용 풀
+     * 디코딩 버퍼가 사진당 수십 MB라 384MB 힙에서 동시 2장으로 제한.
+     */
+    @Bean(name = "photoIngestExecutor")
+    public Executor photoIngestExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("PhotoIngest-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * S3 multipart 파트 업로드 전용 풀
+     * 최종 렌더 인코딩 중 파트를 병렬 전송 — 업로드당 동시 4파트(8MB)로 제한되므로 메모리 부담 작음.
+     */
+    @Bean(name = "s3UploadExecutor")
+    public Executor s3UploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("S3Upload-");
+        executor.initialize();
+        return executor;
+    }
+
     /**
      * 이벤트 로깅 전용 풀
      * 비동기로 order_events 저장. 실패해도 비즈니스 로직에 영향 없음.
@@ -57,4 +103,34 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * 포트원 웹훅 처리 전용 풀
+     * 수신 기록 후 즉시 200 응답하고 결제 반영은 여기서 — 느린 DB/알림톡이 포트원 재전송을 유발하지 않도록.
+     */
+    @Bean(name = "webhookExecutor")
+    public Executor webhookExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("Webhook-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * SSE 전송 전용 풀
+     * 연결별 대기열을 비우는 짧은 작업 — 느린 클라이언트가 발행 스레드(트랜잭션 커밋 후 콜백)를 막지 않도록.
+     */
+    @Bean(name = "sseExecutor")
+    public Executor sseExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("Sse-");
+        executor.initialize();
+        return executor;
+    }
 }
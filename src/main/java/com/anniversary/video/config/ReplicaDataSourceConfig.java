@@ -0,0 +1,81 @@
+package com.anniversary.video.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 읽기 replica 분리 — datasource.replica.url 이 있을 때만.
+ * 관리자 목록·대시보드 보정·통계 집계처럼 readOnly 트랜잭션은 replica 풀에서, 결제·업로드 경로는 primary 풀을 독점.
+ * 설정이 없으면 Spring Boot 기본 DataSource(primary 하나) 그대로.
+ */
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    /** primary 풀 — spring.datasource.* / spring.datasource.hikari.* 그대로 */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /** replica 풀 — 계정 미지정 시 primary 계정, 풀 설정은 datasource.replica.hikari.* */
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.url}") String url,
+            @Value("${datasource.replica.username:}") String username,
+            @Value("${datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username.isBlank() ? properties.determineUsername() : username);
+        dataSource.setPassword(password.isBlank() ? properties.determinePassword() : password);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${datasource.replica.max-lag:5s}") Duration maxLag) {
+        return new ReplicaLagMonitor(replica, lagQuery, maxLag);
+    }
+
+    /** JPA·JdbcTemplate·Flyway 가 쓰는 DataSource — 첫 SQL 시점에 readOnly 여부로 라우팅 */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor));
+    }
+
+    /**
+     * 트랜잭션이 끝나면 연결 반납 — open-in-view 요청 안에서 readOnly 트랜잭션의 replica 연결을
+     * 다음 쓰기 트랜잭션이 이어 쓰지 않도록 (트랜잭션마다 새로 라우팅)
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
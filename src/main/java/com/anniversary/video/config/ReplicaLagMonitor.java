@@ -0,0 +1,115 @@
+package com.anniversary.video.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * replica 복제 지연 감시 — 주기적으로 lag-query 를 replica 에서 실행해 지연(초)을 읽음.
+ * 지연이 max-lag 이하일 때만 읽기 전용 트랜잭션을 replica 로 보냄 (ReplicaRoutingDataSource).
+ * 조회 실패·복제 중지(값 NULL)·결과 없음 → 다음 확인까지 primary. 첫 확인 전에도 primary.
+ * <p>
+ * MySQL 기본값은 SHOW REPLICA STATUS 의 Seconds_Behind_Source, 그 외(H2 등)는 첫 컬럼을 지연 초로 읽음.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final List<String> LAG_COLUMNS = List.of("Seconds_Behind_Source", "Seconds_Behind_Master");
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+
+    private volatile boolean available;
+    private volatile Long lagSeconds;
+    private volatile Instant checkedAt;
+    private volatile String reason = "확인 전";
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public ReplicaLagMonitor(DataSource replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval:5000}")
+    public void check() {
+        try (Connection conn = replica.getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(lagQuery)) {
+            Long lag = rs.next() ? readLag(rs) : null;
+            if (lag == null) {
+                update(false, null, "복제 상태 없음 (복제 중지 또는 replica 아님)");
+            } else if (lag > maxLag.toSeconds()) {
+                update(false, lag, "복제 지연 " + lag + "초 > " + maxLag.toSeconds() + "초");
+            } else {
+                update(true, lag, null);
+            }
+        } catch (SQLException e) {
+            markUnavailable(e);
+        }
+    }
+
+    /** replica 연결 실패 — 다음 확인에서 회복될 때까지 primary */
+    public void markUnavailable(SQLException e) {
+        update(false, null, "연결 실패: " + e.getMessage());
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /** 읽기 전용 트랜잭션이 replica 대신 primary 로 간 횟수 */
+    void recordFallback() {
+        fallbacks.incrementAndGet();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("available", available);
+        result.put("lagSeconds", lagSeconds);
+        result.put("maxLagSeconds", maxLag.toSeconds());
+        result.put("checkedAt", checkedAt != null ? checkedAt.toString() : null);
+        result.put("reason", reason);
+        result.put("fallbacks", fallbacks.get());
+        return result;
+    }
+
+    private synchronized void update(boolean ok, Long lag, String why) {
+        boolean was = available;
+        available = ok;
+        lagSeconds = lag;
+        checkedAt = Instant.now();
+        reason = why;
+        if (was && !ok) {
+            log.warn("replica 읽기 중단 → primary 사용 - {}", why);
+        } else if (!was && ok) {
+            log.info("replica 읽기 사용 - 지연 {}초", lag);
+        }
+    }
+
+    private static Long readLag(ResultSet rs) throws SQLException {
+        int column = 1;
+        for (String label : LAG_COLUMNS) {
+            try {
+                column = rs.findColumn(label);
+                break;
+            } catch (SQLException ignored) {
+                // 다음 후보 컬럼
+            }
+        }
+        long lag = rs.getLong(column);
+        return rs.wasNull() ? null : lag;
+    }
+}
@@ -0,0 +1,61 @@
+package com.anniversary.video.config;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * 읽기 전용 트랜잭션(@Transactional(readOnly = true)) → replica, 그 외(쓰기 트랜잭션·트랜잭션 밖) → primary.
+ * replica 지연 초과·연결 실패 시 primary 로 대체.
+ * <p>
+ * 트랜잭션 매니저는 readOnly 플래그를 세우기 전에 연결부터 얻으므로, 반드시 LazyConnectionDataSourceProxy 로
+ * 감싸서 첫 SQL 실행 시점에 라우팅되게 할 것 (ReplicaDataSourceConfig).
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    /** 계정 지정 요청도 같은 규칙으로 라우팅 — 고른 풀에 그대로 위임 */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return source.open(primary);
+        }
+        if (!monitor.isAvailable()) {
+            monitor.recordFallback();
+            return source.open(primary);
+        }
+        try {
+            return source.open(replica);
+        } catch (SQLException e) {
+            monitor.markUnavailable(e);
+            monitor.recordFallback();
+            return source.open(primary);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
@@ -3,13 +3,20 @@ package com.anniversary.video.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.time.Duration;
+
+/** AWS 클라이언트 — local-storage 프로파일(로컬 디스크 저장소)에서는 생성하지 않음 */
 @Configuration
+@Profile("!local-storage")
 public class S3Config {
 
     @Value("${aws.access-key}")
@@ -21,6 +28,10 @@ public class S3Config {
     @Value("${aws.s3.region}")
     private String region;
 
+    /** 비동기 전송 동시 요청 수 — 초과분은 연결 대기열에서 대기 (버퍼 미할당) */
+    @Value("${aws.s3.transfer.concurrency:8}")
+    private int transferConcurrency;
+
     @Bean
     public S3Client s3Client() {
         return S3Client.builder()
@@ -30,6 +41,19 @@ public class S3Config {
                 .build();
     }
 
+    /** 클립 다운로드 전송 계층(S3Transfer) 전용 */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(transferConcurrency)
+                        .connectionAcquisitionTimeout(Duration.ofMinutes(2)))
+                .build();
+    }
+
     @Bean
     public S3Presigner s3Presigner() {
         return S3Presigner.builder()
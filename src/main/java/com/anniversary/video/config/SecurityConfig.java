@@ -33,6 +33,8 @@ public class SecurityConfig {
                 .requestMatchers("/error", "/error/**").permitAll()
                 .requestMatchers("/status", "/status.html").permitAll()
                 .requestMatchers("/health").permitAll()
+                // local-storage 프로파일 서명 URL (서명은 컨트롤러에서 검증)
+                .requestMatchers("/storage/**").permitAll()
                 .requestMatchers("/actuator/health", "/actuator/info").permitAll()
                 .requestMatchers("/h2-console/**").hasRole("ADMIN")
                 // Spring 기본 로그인 URL 허용
@@ -50,7 +52,7 @@ public class SecurityConfig {
                 .permitAll()
             )
             .csrf(csrf -> csrf
-                .ignoringRequestMatchers("/api/**", "/admin/**", "/h2-console/**", "/actuator/**")
+                .ignoringRequestMatchers("/api/**", "/admin/**", "/h2-console/**", "/actuator/**", "/storage/**")
             )
             .headers(headers -> headers
                 .frameOptions(fo -> fo.sameOrigin())
@@ -2,18 +2,25 @@ package com.anniversary.video.controller;
 
 import com.anniversary.video.domain.Order;
 import com.anniversary.video.dto.AdminOrderResponse;
+import com.anniversary.video.service.DashboardMetrics;
+import com.anniversary.video.service.OrderEventBroadcaster;
 import com.anniversary.video.service.OrderService;
 import com.anniversary.video.service.PaymentService;
 import com.anniversary.video.service.S3Service;
+import com.anniversary.video.service.SignedUrlCache;
 import com.anniversary.video.service.VideoGenerationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/admin")
@@ -25,24 +32,45 @@ public class AdminController {
     private final PaymentService paymentService;
     private final VideoGenerationService videoGenerationService;
     private final S3Service s3Service;
+    private final DashboardMetrics dashboardMetrics;
+    private final OrderEventBroadcaster orderEventBroadcaster;
 
-    /** 전체 주문 목록 (상태 필터 지원) */
+    /**
+     * 주문 목록 — 최신순 키셋 페이지 (무한 스크롤).
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 전달, null 이면 마지막 페이지.
+     */
     @GetMapping("/orders")
-    public ResponseEntity<List<AdminOrderResponse>> getAllOrders(
-            @RequestParam(required = false) String status) {
+    public ResponseEntity<Map<String, Object>> getOrders(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+
+        Order.OrderStatus filterStatus = status != null && !status.isBlank() && !"ALL".equalsIgnoreCase(status)
+                ? Order.OrderStatus.valueOf(status.toUpperCase()) : null;
+        OrderService.AdminOrderPage page = orderService.findAdminPage(filterStatus, phone, from, to, cursor, size);
+        page.items().forEach(row -> {
+            if (row.getS3PosterPath() != null) row.setPosterUrl(s3Service.generateDownloadUrl(row.getS3PosterPath()));
+        });
 
-        List<Order> all = orderService.findAll();
-        if (status != null && !status.isBlank()) {
-            Order.OrderStatus filterStatus = Order.OrderStatus.valueOf(status.toUpperCase());
-            all = all.stream().filter(o -> o.getStatus() == filterStatus).collect(Collectors.toList());
-        }
-        return ResponseEntity.ok(all.stream().map(AdminOrderResponse::from).collect(Collectors.toList()));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("items", page.items());
+        result.put("nextCursor", page.nextCursor());
+        return ResponseEntity.ok(result);
     }
 
     /** 주문 상세 */
     @GetMapping("/orders/{orderId}")
     public ResponseEntity<AdminOrderResponse> getOrder(@PathVariable Long orderId) {
-        return ResponseEntity.ok(AdminOrderResponse.from(orderService.findById(orderId)));
+        return ResponseEntity.ok(toResponse(orderService.findById(orderId)));
+    }
+
+    private AdminOrderResponse toResponse(Order order) {
+        String posterUrl = order.getS3PosterPath() != null
+                ? s3Service.generateDownloadUrl(order.getS3PosterPath()) : null;
+        return AdminOrderResponse.from(order, posterUrl);
     }
 
     /** 상태 수동 변경 */
@@ -64,8 +92,9 @@ public class AdminController {
         if (newStatus == Order.OrderStatus.COMPLETED
                 && order.getS3OutputPath() != null
                 && order.getDownloadUrl() == null) {
-            order.setDownloadUrl(s3Service.generateDownloadUrl(order.getS3OutputPath()));
-            order.setDownloadExpiresAt(LocalDateTime.now().plusHours(72));
+            SignedUrlCache.SignedUrl link = s3Service.generateDownloadLink(order.getS3OutputPath());
+            order.setDownloadUrl(link.url());
+            order.setDownloadExpiresAt(LocalDateTime.ofInstant(link.expiresAt(), ZoneId.systemDefault()));
             orderService.save(order);
         }
 
@@ -105,35 +134,18 @@ public class AdminController {
         return ResponseEntity.ok(Map.of("downloadUrl", url));
     }
 
-    /** 대시보드 통계 */
+    /** 대시보드 통계 — 메모리 집계 (DashboardMetrics), DB 조회 없음 */
     @GetMapping("/dashboard")
     public ResponseEntity<Map<String, Object>> dashboard() {
-        List<Order> all = orderService.findAll();
-        LocalDateTime todayStart = LocalDateTime.now().toLocalDate().atStartOfDay();
-
-        long pending    = all.stream().filter(o -> o.getStatus() == Order.OrderStatus.PENDING).count();
-        long paid       = all.stream().filter(o -> o.getStatus() == Order.OrderStatus.PAID).count();
-        long processing = all.stream().filter(o -> o.getStatus() == Order.OrderStatus.PROCESSING).count();
-        long completed  = all.stream().filter(o -> o.getStatus() == Order.OrderStatus.COMPLETED).count();
-        long failed     = all.stream().filter(o -> o.getStatus() == Order.OrderStatus.FAILED).count();
-        long todayOrders= all.stream().filter(o -> o.getCreatedAt() != null && o.getCreatedAt().isAfter(todayStart)).count();
-        long revenue    = completed * 29900L;
-        long todayRevenue = all.stream()
-                .filter(o -> o.getStatus() == Order.OrderStatus.COMPLETED
-                        && o.getUpdatedAt() != null && o.getUpdatedAt().isAfter(todayStart))
-                .count() * 29900L;
+        return ResponseEntity.ok(dashboardMetrics.snapshot());
+    }
 
-        Map<String, Object> result = new LinkedHashMap<>();
-        result.put("total", all.size());
-        result.put("pending", pending);
-        result.put("paid", paid);
-        result.put("processing", processing);
-        result.put("completed", completed);
-        result.put("failed", failed);
-        result.put("revenue", revenue);
-        result.put("todayOrders", todayOrders);
-        result.put("todayRevenue", todayRevenue);
-        return ResponseEntity.ok(result);
+    /** 전체 주문 실시간 피드 (SSE) — status / progress 이벤트 */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events() {
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(orderEventBroadcaster.subscribeAdmin());
     }
 
     /** 결제 취소/환불 */
@@ -102,7 +102,7 @@ public class DevController {
         orderPhotoRepository.saveAll(dummies);
 
         // 상태를 PROCESSING으로 변경 (영상 생성 실제 호출은 안 함)
-        order.updateStatus(Order.OrderStatus.PROCESSING);
+        orderService.updateStatus(orderId, Order.OrderStatus.PROCESSING);
         log.warn("[DEV] 업로드 스킵, 더미 OrderPhoto {}개 생성 - orderId: {}", count, orderId);
 
         return ResponseEntity.ok(Map.of(
@@ -1,6 +1,14 @@
 package com.anniversary.video.controller;
 
+import com.anniversary.video.config.ReplicaLagMonitor;
+import com.anniversary.video.service.ClipCache;
+import com.anniversary.video.service.OrderEventBroadcaster;
+import com.anniversary.video.service.OrderStatusCache;
+import com.anniversary.video.service.S3Service;
+import com.anniversary.video.service.ScratchSpace;
+import com.anniversary.video.service.StorageBackend;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,6 +24,13 @@ import java.util.Map;
 public class HealthController {
 
     private final DataSource dataSource;
+    private final ScratchSpace scratchSpace;
+    private final StorageBackend storageBackend;
+    private final ClipCache clipCache;
+    private final S3Service s3Service;
+    private final OrderStatusCache orderStatusCache;
+    private final OrderEventBroadcaster orderEventBroadcaster;
+    private final ObjectProvider<ReplicaLagMonitor> replicaLagMonitor;
 
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
@@ -30,6 +45,19 @@ public class HealthController {
             res.put("db", "DOWN: " + e.getMessage());
             res.put("status", "DEGRADED");
         }
+        // 읽기 replica (설정 시) — 지연·대체 횟수
+        replicaLagMonitor.ifAvailable(monitor -> res.put("replica", monitor.snapshot()));
+
+        // 렌더 스크래치 공간 (예산/예약/실사용/여유)
+        res.put("scratch", scratchSpace.snapshot());
+        // 저장소 다운로드 누적 처리량
+        res.put("storage", storageBackend.metrics());
+        // 로컬 클립 캐시 적중률/축출
+        res.put("clipCache", clipCache.snapshot());
+        // 서명 URL 재사용 캐시 적중률
+        res.put("signedUrls", s3Service.signedUrlSnapshot());
+        res.put("statusCache", orderStatusCache.snapshot());
+        res.put("sse", orderEventBroadcaster.snapshot());
         return ResponseEntity.ok(res);
     }
 }
@@ -0,0 +1,71 @@
+package com.anniversary.video.controller;
+
+import com.anniversary.video.service.LocalStorageBackend;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * local-storage 프로파일 전용 — LocalStorageBackend 가 발급한 서명 URL 서빙.
+ * GET 은 Resource 반환이라 Spring 이 Range 요청을 206 부분 응답으로 처리 (ffmpeg/브라우저 탐색 가능).
+ */
+@RestController
+@RequestMapping("/storage")
+@RequiredArgsConstructor
+@Profile("local-storage")
+public class LocalStorageController {
+
+    private final LocalStorageBackend storage;
+
+    @GetMapping("/**")
+    public ResponseEntity<Resource> get(HttpServletRequest request,
+                                        @RequestParam long expires,
+                                        @RequestParam String sig) {
+        String key = keyOf(request);
+        if (!storage.verify("GET", key, expires, sig)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        Path file = storage.resolve(key);
+        if (!Files.isRegularFile(file)) {
+            return ResponseEntity.notFound().build();
+        }
+        Resource resource = new FileSystemResource(file);
+        return ResponseEntity.ok()
+                .contentType(MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM))
+                .body(resource);
+    }
+
+    @PutMapping("/**")
+    public ResponseEntity<Void> put(HttpServletRequest request,
+                                    @RequestParam long expires,
+                                    @RequestParam String sig) throws IOException {
+        String key = keyOf(request);
+        if (!storage.verify("PUT", key, expires, sig)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try (InputStream body = request.getInputStream()) {
+            String eTag = storage.write(key, body);
+            return ResponseEntity.ok().eTag(eTag).build();
+        }
+    }
+
+    /** /storage/ 이후 경로 = 저장소 키 (presign 시 경로 인코딩됨) */
+    private static String keyOf(HttpServletRequest request) {
+        String prefix = request.getContextPath() + "/storage/";
+        return UriUtils.decode(request.getRequestURI().substring(prefix.length()), StandardCharsets.UTF_8);
+    }
+}
@@ -3,18 +3,34 @@ package com.anniversary.video.controller;
 import com.anniversary.video.domain.Order;
 import com.anniversary.video.dto.OrderCreateRequest;
 import com.anniversary.video.dto.OrderCreateResponse;
+import com.anniversary.video.service.HlsPlaylistService;
+import com.anniversary.video.service.OrderEventBroadcaster;
 import com.anniversary.video.service.OrderService;
+import com.anniversary.video.service.OrderStatusCache;
+import com.anniversary.video.service.PhotoIngestService;
 import com.anniversary.video.service.S3Service;
 import com.anniversary.video.service.VideoGenerationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,8 +40,14 @@ import java.util.stream.Collectors;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStatusCache orderStatusCache;
+    private final OrderEventBroadcaster orderEventBroadcaster;
     private final S3Service s3Service;
     private final VideoGenerationService videoGenerationService;
+    private final HlsPlaylistService hlsPlaylistService;
+
+    private static final MediaType HLS_PLAYLIST = MediaType.parseMediaType("application/vnd.apple.mpegurl");
+    private static final MediaType WEBVTT = MediaType.parseMediaType("text/vtt;charset=UTF-8");
 
     @Value("${portone.store-id}")
     private String portoneStoreId;
@@ -40,18 +62,98 @@ public class OrderController {
         return ResponseEntity.ok(orderService.createOrder(request));
     }
 
-    /** 주문 상태 조회 (accessToken 기반) */
+    /**
+     * 주문 상태 조회 (accessToken 기반) — 폴링용.
+     * 메모리 캐시(OrderStatusCache)에서 응답, ETag/Last-Modified 일치 시 304.
+     * max-age 5초는 nginx 마이크로 캐시용 — 탭 여러 개가 동시에 폴링해도 앱까지 1건.
+     */
     @GetMapping("/t/{accessToken}/status")
     public ResponseEntity<Map<String, Object>> getOrderStatus(@PathVariable String accessToken) {
+        OrderStatusCache.StatusView view = orderStatusCache.get(accessToken,
+                () -> statusView(orderService.findByAccessToken(accessToken)));
+        return ResponseEntity.ok()
+                .eTag(view.etag())
+                .lastModified(view.lastModified())
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.SECONDS))
+                .body(view.body());
+    }
+
+    /**
+     * 주문 상태 실시간 스트림 (SSE) — 연결 직후 snapshot(상태 조회와 같은 본문), 이후 status / progress.
+     * X-Accel-Buffering: nginx 가 이벤트를 모아 보내지 않도록.
+     */
+    @GetMapping(value = "/t/{accessToken}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> orderEvents(@PathVariable String accessToken) {
+        Supplier<Object> snapshot = () -> orderStatusCache.get(accessToken,
+                () -> statusView(orderService.findByAccessToken(accessToken))).body();
+        snapshot.get();   // 유효하지 않은 토큰이면 여기서 400 (구독 전)
+        SseEmitter emitter = orderEventBroadcaster.subscribe(accessToken, snapshot);
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+
+    private OrderStatusCache.StatusView statusView(Order order) {
+        boolean completed = order.getStatus() == Order.OrderStatus.COMPLETED;
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("orderId",     order.getId());
+        body.put("accessToken", order.getAccessToken());
+        body.put("status",      order.getStatus());
+        body.put("photoCount",  order.getPhotoCount() != null ? order.getPhotoCount() : 0);
+        body.put("downloadUrl", order.getDownloadUrl() != null ? order.getDownloadUrl() : "");
+        body.put("variants",    variantUrls(order));
+        body.put("posterUrl",   completed && order.getS3PosterPath() != null
+                                        ? s3Service.generateDownloadUrl(order.getS3PosterPath()) : "");
+        body.put("hlsUrl",      completed && order.getS3HlsPath() != null
+                                        ? "/api/orders/t/" + order.getAccessToken() + "/hls/master.m3u8" : "");
+        body.put("thumbnailsUrl", completed && order.getS3SpriteVttPath() != null && order.getS3SpritePath() != null
+                                        ? "/api/orders/t/" + order.getAccessToken() + "/preview/sprite.vtt" : "");
+        body.put("updatedAt",   order.getUpdatedAt());
+
+        LocalDateTime modified = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
+        Instant lastModified = modified != null ? modified.atZone(ZoneId.systemDefault()).toInstant() : Instant.now();
+        // 본문이 같으면 같은 ETag (presigned URL 은 SignedUrlCache 가 재사용하므로 폴링 간 동일)
+        String etag = "\"" + DigestUtils.md5DigestAsHex(body.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        return new OrderStatusCache.StatusView(Collections.unmodifiableMap(body), etag, lastModified, Instant.now());
+    }
+
+    /** 완성 주문의 추가 렌더(세로/공유용) 다운로드 URL — 완료·링크 재발급 때 저장한 값 (조회마다 서명 안 함) */
+    private Map<String, String> variantUrls(Order order) {
+        if (order.getStatus() != Order.OrderStatus.COMPLETED) return Map.of();
+        Map<String, String> urls = new LinkedHashMap<>();
+        if (order.getVerticalDownloadUrl() != null) urls.put("vertical", order.getVerticalDownloadUrl());
+        if (order.getShareDownloadUrl() != null) urls.put("share", order.getShareDownloadUrl());
+        return urls;
+    }
+
+    /** HLS master 플레이리스트 (accessToken 기반) */
+    @GetMapping("/t/{accessToken}/hls/master.m3u8")
+    public ResponseEntity<String> hlsMaster(@PathVariable String accessToken) {
         Order order = orderService.findByAccessToken(accessToken);
-        return ResponseEntity.ok(Map.of(
-                "orderId",     order.getId(),
-                "accessToken", order.getAccessToken(),
-                "status",      order.getStatus(),
-                "photoCount",  order.getPhotoCount() != null ? order.getPhotoCount() : 0,
-                "downloadUrl", order.getDownloadUrl() != null ? order.getDownloadUrl() : "",
-                "updatedAt",   order.getUpdatedAt()
-        ));
+        return ResponseEntity.ok()
+                .contentType(HLS_PLAYLIST)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                .body(hlsPlaylistService.masterPlaylist(order));
+    }
+
+    /** HLS 변형 플레이리스트 — 세그먼트 URI는 Presigned GET URL로 치환 */
+    @GetMapping("/t/{accessToken}/hls/{variant}/index.m3u8")
+    public ResponseEntity<String> hlsMedia(@PathVariable String accessToken, @PathVariable String variant) {
+        Order order = orderService.findByAccessToken(accessToken);
+        return ResponseEntity.ok()
+                .contentType(HLS_PLAYLIST)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                .body(hlsPlaylistService.mediaPlaylist(order, variant));
+    }
+
+    /** 탐색 썸네일 WebVTT — 스프라이트 이미지 참조는 Presigned GET URL로 치환 */
+    @GetMapping("/t/{accessToken}/preview/sprite.vtt")
+    public ResponseEntity<String> spriteVtt(@PathVariable String accessToken) {
+        Order order = orderService.findByAccessToken(accessToken);
+        return ResponseEntity.ok()
+                .contentType(WEBVTT)
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePrivate())
+                .body(hlsPlaylistService.spriteVtt(order));
     }
 
     /** 결제 성공 후 S3 업로드 URL 재발급 (accessToken 기반) */
@@ -83,6 +185,25 @@ public class OrderController {
         return ResponseEntity.ok(Map.of("orderId", order.getId(), "presignedUrls", urls));
     }
 
+    /** 사진 슬롯 하나의 업로드 URL (지연 발급 — 업로드 직전 또는 URL 만료로 실패한 슬롯 재시도용) */
+    @GetMapping("/t/{accessToken}/upload-urls/{index}")
+    public ResponseEntity<Map<String, Object>> getUploadUrl(@PathVariable String accessToken,
+                                                            @PathVariable int index) {
+        Order order = orderService.findByAccessToken(accessToken);
+        if (order.getStatus() != Order.OrderStatus.PAID) {
+            return ResponseEntity.badRequest().body(Map.of("message", "업로드할 수 없는 주문 상태입니다: " + order.getStatus()));
+        }
+        if (index < 0 || index >= 10) {
+            throw new IllegalArgumentException("잘못된 사진 번호: " + index);
+        }
+        S3Service.PresignedUploadInfo info = s3Service.generateUploadUrl(order.getId(), index);
+        return ResponseEntity.ok(Map.of(
+                "index",     info.index(),
+                "uploadUrl", info.uploadUrl(),
+                "s3Key",     info.s3Key()
+        ));
+    }
+
     /**
      * 사진 업로드 완료 신고 → 영상 생성 시작 (accessToken 기반)
      */
@@ -93,14 +214,29 @@ public class OrderController {
 
         Order order = orderService.findByAccessToken(accessToken);
         Long orderId = order.getId();
-        int photoCount = orderService.handleUploadComplete(orderId, body);
+        // 사진 해시(원본 다운로드·디코딩)는 트랜잭션 밖에서, 사진 행 반영만 트랜잭션 안에서
+        Map<String, PhotoIngestService.Ingested> ingested = orderService.ingestUploadedPhotos(orderId, body);
+        OrderService.UploadCompleteResult result = orderService.handleUploadComplete(orderId, body, ingested);
+
+        if (result.needsConfirmation()) {
+            log.info("중복 사진 확인 대기 - orderId: {}, duplicates: {}", orderId, result.duplicates().size());
+            return ResponseEntity.ok(Map.of(
+                    "result",     "duplicates",
+                    "orderId",    orderId,
+                    "photoCount", result.photoCount(),
+                    "duplicates", result.duplicates(),
+                    "message",    "거의 같은 사진이 있습니다. 그대로 제작할지 확인해주세요."
+            ));
+        }
+
         videoGenerationService.startVideoGeneration(orderId);
         log.info("영상 생성 시작 - orderId: {}", orderId);
 
         return ResponseEntity.ok(Map.of(
                 "result",     "ok",
                 "orderId",    orderId,
-                "photoCount", photoCount,
+                "photoCount", result.photoCount(),
+                "duplicates", result.duplicates(),
                 "message",    "영상 제작이 시작되었습니다. 24시간 내 완성 후 문자로 안내드립니다."
         ));
     }
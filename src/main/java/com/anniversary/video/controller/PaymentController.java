@@ -2,6 +2,7 @@ package com.anniversary.video.controller;
 
 import com.anniversary.video.dto.PaymentConfirmRequest;
 import com.anniversary.video.service.PaymentService;
+import com.anniversary.video.service.PaymentWebhookService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ import java.util.Map;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final PaymentWebhookService paymentWebhookService;
 
     @Value("${portone.webhook-secret:}")
     private String webhookSecret;
@@ -61,7 +63,8 @@ public class PaymentController {
         }
 
         log.info("포트원 웹훅 수신 - type: {}, webhook-id: {}", payload.get("type"), webhookId);
-        paymentService.handleWebhook(payload);
+        // 수신 기록만 하고 즉시 응답 — 처리는 비동기, 중복(재전송)은 무시
+        paymentWebhookService.receive(webhookId, payload);
         return ResponseEntity.ok().build();
     }
 
@@ -2,6 +2,7 @@ package com.anniversary.video.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.AbstractAggregateRoot;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -9,15 +10,27 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "orders")
+/** 인덱스는 Flyway(V1·V15)와 같은 이름 — 로컬 H2(ddl-auto)와 QueryPlanTest 용 */
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_payment_key", columnList = "paymentKey"),
+        @Index(name = "idx_orders_status_updated", columnList = "status, updatedAt"),
+        @Index(name = "idx_orders_status_created", columnList = "status, createdAt"),
+        @Index(name = "idx_orders_phone_created", columnList = "customerPhone, createdAt, status"),
+        @Index(name = "idx_orders_phone_name_status", columnList = "customerPhone, customerName, status, createdAt"),
+        @Index(name = "idx_orders_status_gen_completed", columnList = "status, genCompletedAt"),
+        @Index(name = "idx_orders_gen_completed", columnList = "genCompletedAt"),
+        @Index(name = "idx_orders_created_id", columnList = "createdAt DESC, id DESC")
+})
 @Getter @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Order {
+public class Order extends AbstractAggregateRoot<Order> {
 
+    /** 풀링 시퀀스 (MySQL 은 orders_seq 테이블로 대체) — 50개씩 미리 받아 INSERT 배치 가능 (IDENTITY 는 배치 불가) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     /** 고객 접근용 보안 토큰 (URL에 노출, orderId 대신 사용) */
@@ -65,9 +78,44 @@ public class Order {
     @Column(length = 300)
     private String s3OutputPath;
 
+    /** 9:16 세로 버전 (카카오톡/인스타) */
+    @Column(length = 300)
+    private String s3VerticalPath;
+
+    /** 720p 저용량 공유 버전 */
+    @Column(length = 300)
+    private String s3SharePath;
+
+    /** HLS master.m3u8 (fMP4, 1080p/720p) */
+    @Column(length = 300)
+    private String s3HlsPath;
+
+    /**
+     * 미리보기 — 포스터 JPEG, 애니메이션 WebP 티저, 썸네일 스프라이트 JPEG + WebVTT 인덱스.
+     * VTT 안의 이미지 참조는 상대경로(sprite.jpg)라 그대로 내려주지 않고 API 에서 서명 URL 로 치환.
+     */
+    @Column(length = 300)
+    private String s3PosterPath;
+
+    @Column(length = 300)
+    private String s3TeaserPath;
+
+    @Column(length = 300)
+    private String s3SpritePath;
+
+    @Column(length = 300)
+    private String s3SpriteVttPath;
+
     @Column(length = 500)
     private String downloadUrl;
 
+    /** 세로/공유용 다운로드 링크 — downloadUrl 과 같이 완료·재발급 시점에만 서명해서 저장 (상태 조회마다 서명 안 함) */
+    @Column(length = 500)
+    private String verticalDownloadUrl;
+
+    @Column(length = 500)
+    private String shareDownloadUrl;
+
     private LocalDateTime downloadExpiresAt;
 
     @Column(columnDefinition = "TEXT")
@@ -100,7 +148,11 @@ public class Order {
 
     private LocalDateTime updatedAt;
 
+    /** 상태 전이 — repository.save 시 OrderStatusChanged 발행 (커밋 후 대시보드 집계 등 반영) */
     public void updateStatus(OrderStatus newStatus) {
+        if (newStatus != this.status) {
+            registerEvent(new OrderStatusChanged(this, this.status, newStatus, this.updatedAt));
+        }
         this.status = newStatus;
     }
 
@@ -110,6 +162,7 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
         if (this.retryCount == null) this.retryCount = 0;
         if (this.accessToken == null) this.accessToken = UUID.randomUUID().toString();
+        registerEvent(new OrderStatusChanged(this, null, this.status, null));
     }
 
     @PreUpdate
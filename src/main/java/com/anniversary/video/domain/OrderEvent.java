@@ -6,7 +6,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "order_events")
+/** 인덱스는 Flyway(V4·V15)와 같은 이름 */
+@Table(name = "order_events", indexes = {
+        @Index(name = "idx_order_events_order_created", columnList = "orderId, createdAt"),
+        @Index(name = "idx_order_events_type_created", columnList = "eventType, createdAt"),
+        @Index(name = "idx_order_events_created", columnList = "createdAt")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,8 +15,10 @@ import java.time.LocalDateTime;
 @Builder
 public class OrderPhoto {
 
+    /** 풀링 시퀀스 (MySQL 은 order_photos_seq 테이블로 대체) — 50개씩 미리 받아 INSERT 배치 가능 (IDENTITY 는 배치 불가) */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_photos_seq")
+    @SequenceGenerator(name = "order_photos_seq", sequenceName = "order_photos_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,6 +32,14 @@ public class OrderPhoto {
     @Builder.Default
     private Integer sortOrder = 0;
 
+    // EXIF 회전 적용 + 720p 기준 축소된 JPEG S3 키 (AI 생성 입력, 썸네일 재사용)
+    @Column(length = 300)
+    private String normalizedS3Key;
+
+    // 원본 사진 dHash (64비트 hex) — 주문 내 중복 감지, 클립 캐시 조회용
+    @Column(length = 16)
+    private String photoHash;
+
     // AI 생성 결과 클립 S3 키
     @Column(length = 300)
     private String clipS3Key;
@@ -0,0 +1,21 @@
+package com.anniversary.video.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태 전이 도메인 이벤트 — Order.updateStatus / 신규 저장 시 등록, repository.save 때 발행.
+ * 수신 측은 @TransactionalEventListener 로 커밋 후에만 반영 (롤백된 전이는 무시).
+ *
+ * @param from              이전 상태 (신규 주문이면 null)
+ * @param previousUpdatedAt 전이 직전 updated_at (신규 주문이면 null)
+ */
+public record OrderStatusChanged(Order order,
+                                 Order.OrderStatus from,
+                                 Order.OrderStatus to,
+                                 LocalDateTime previousUpdatedAt) {
+
+    /** 신규 주문은 커밋 후에야 id 가 보장되므로 엔티티에서 읽음 */
+    public Long orderId() {
+        return order.getId();
+    }
+}
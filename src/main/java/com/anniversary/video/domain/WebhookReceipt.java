@@ -0,0 +1,48 @@
+package com.anniversary.video.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/** 포트원 웹훅 수신 기록 — 같은 webhook-id 재전송은 한 번만 처리 */
+@Entity
+@Table(name = "webhook_receipts", indexes = {
+        @Index(name = "idx_webhook_receipts_received", columnList = "receivedAt"),
+        @Index(name = "idx_webhook_receipts_pending", columnList = "processedAt, nextAttemptAt")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WebhookReceipt {
+
+    /** webhook-id 헤더 (없으면 type:paymentId) */
+    @Id
+    @Column(length = 100)
+    private String webhookId;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    /** 처리 완료 시각 (null = 처리 중 또는 재시도 대기) */
+    private LocalDateTime processedAt;
+
+    /** 웹훅 본문(JSON) — 재시도 시 그대로 다시 처리 */
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    /** 실패한 처리 횟수 */
+    @Column(nullable = false)
+    private int attempts;
+
+    /**
+     * 다음 처리 가능 시각 — 처리 중에는 임대 만료 시각(재시작으로 멈추면 이후 스케줄러가 가져감),
+     * 실패 후에는 백오프 시각, null 이면 재시도 포기(관리자 확인)
+     */
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 500)
+    private String lastError;
+}
@@ -22,6 +22,14 @@ public class AdminOrderResponse {
     private String bgmTrack;
     private String paymentKey;
     private String s3OutputPath;
+    private String s3VerticalPath;
+    private String s3SharePath;
+    private String s3HlsPath;
+    private String s3PosterPath;
+    private String s3TeaserPath;
+    private String s3SpritePath;
+    private String s3SpriteVttPath;
+    private String posterUrl;
     private String downloadUrl;
     private LocalDateTime downloadExpiresAt;
     private String adminMemo;
@@ -34,6 +42,11 @@ public class AdminOrderResponse {
     private LocalDateTime updatedAt;
 
     public static AdminOrderResponse from(Order order) {
+        return from(order, null);
+    }
+
+    /** posterUrl — 목록 썸네일용 Presigned URL (영상 접근 없이 표시) */
+    public static AdminOrderResponse from(Order order, String posterUrl) {
         return AdminOrderResponse.builder()
                 .id(order.getId())
                 .customerName(order.getCustomerName())
@@ -46,6 +59,14 @@ public class AdminOrderResponse {
                 .bgmTrack(order.getBgmTrack())
                 .paymentKey(order.getPaymentKey())
                 .s3OutputPath(order.getS3OutputPath())
+                .s3VerticalPath(order.getS3VerticalPath())
+                .s3SharePath(order.getS3SharePath())
+                .s3HlsPath(order.getS3HlsPath())
+                .s3PosterPath(order.getS3PosterPath())
+                .s3TeaserPath(order.getS3TeaserPath())
+                .s3SpritePath(order.getS3SpritePath())
+                .s3SpriteVttPath(order.getS3SpriteVttPath())
+                .posterUrl(posterUrl)
                 .downloadUrl(order.getDownloadUrl())
                 .downloadExpiresAt(order.getDownloadExpiresAt())
                 .adminMemo(order.getAdminMemo())
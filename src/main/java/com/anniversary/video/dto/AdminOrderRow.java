@@ -0,0 +1,45 @@
+package com.anniversary.video.dto;
+
+import com.anniversary.video.domain.Order;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자 목록 한 줄 — OrderRepository.findAdminPage 의 생성자 표현식으로 바로 채움 (엔티티 미로딩).
+ * 상세 필드가 필요하면 /admin/orders/{id} (AdminOrderResponse).
+ */
+@Getter
+public class AdminOrderRow {
+
+    private final Long id;
+    private final String customerName;
+    private final String customerPhone;
+    private final int amount;
+    private final String status;
+    private final Integer photoCount;
+    private final String adminMemo;
+    private final String downloadUrl;
+    private final String s3PosterPath;
+    private final LocalDateTime createdAt;
+
+    /** 목록 썸네일용 Presigned URL — 조회 후 채움 */
+    @Setter
+    private String posterUrl;
+
+    public AdminOrderRow(Long id, String customerName, String customerPhone, Integer amount,
+                         Order.OrderStatus status, Integer photoCount, String adminMemo,
+                         String downloadUrl, String s3PosterPath, LocalDateTime createdAt) {
+        this.id = id;
+        this.customerName = customerName;
+        this.customerPhone = customerPhone;
+        this.amount = amount != null ? amount : 29900;
+        this.status = status.name();
+        this.photoCount = photoCount;
+        this.adminMemo = adminMemo;
+        this.downloadUrl = downloadUrl;
+        this.s3PosterPath = s3PosterPath;
+        this.createdAt = createdAt;
+    }
+}
@@ -1,6 +1,8 @@
 package com.anniversary.video.repository;
 
 import com.anniversary.video.domain.Order;
+import com.anniversary.video.dto.AdminOrderRow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,8 +13,6 @@ import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findAllByOrderByCreatedAtDesc();
-
     Optional<Order> findByAccessToken(String accessToken);
 
     // 스케줄러: 상태 + 생성시간 기준
@@ -36,10 +36,44 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     Optional<Order> findTopByCustomerPhoneAndCustomerNameAndStatusOrderByCreatedAtDesc(
             String phone, String name, Order.OrderStatus status);
 
+    /**
+     * 관리자 목록 — (created_at, id) 키셋 페이지, 필터는 SQL 에서 (null 이면 조건 없음).
+     * 커서(이전 페이지 마지막 행)보다 오래된 행만 → OFFSET 없이 인덱스 범위 스캔, 페이지 깊이와 무관하게 일정.
+     */
+    @Query("SELECT new com.anniversary.video.dto.AdminOrderRow(" +
+           "o.id, o.customerName, o.customerPhone, o.amount, o.status, o.photoCount, " +
+           "o.adminMemo, o.downloadUrl, o.s3PosterPath, o.createdAt) " +
+           "FROM Order o " +
+           "WHERE (:status IS NULL OR o.status = :status) " +
+           "AND (:phone IS NULL OR o.customerPhone = :phone) " +
+           "AND (:from IS NULL OR o.createdAt >= :from) " +
+           "AND (:to IS NULL OR o.createdAt < :to) " +
+           "AND (:cursorCreatedAt IS NULL OR o.createdAt < :cursorCreatedAt " +
+           "     OR (o.createdAt = :cursorCreatedAt AND o.id < :cursorId)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<AdminOrderRow> findAdminPage(
+            @Param("status") Order.OrderStatus status,
+            @Param("phone") String phone,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+            @Param("cursorId") Long cursorId,
+            Pageable pageable);
+
     // 통계 쿼리
     long countByStatus(Order.OrderStatus status);
     long countByStatusAndCreatedAtAfter(Order.OrderStatus status, LocalDateTime after);
 
+    /**
+     * 대시보드 집계 (DashboardMetrics 초기값/정합성 보정) — 상태별 한 줄:
+     * [status, 건수, 금액 합, 오늘 생성 건수, 오늘 갱신된 금액 합]
+     */
+    @Query("SELECT o.status, COUNT(o), COALESCE(SUM(o.amount), 0), " +
+           "SUM(CASE WHEN o.createdAt >= :today THEN 1 ELSE 0 END), " +
+           "COALESCE(SUM(CASE WHEN o.updatedAt >= :today THEN o.amount ELSE 0 END), 0) " +
+           "FROM Order o GROUP BY o.status")
+    List<Object[]> aggregateByStatus(@Param("today") LocalDateTime today);
+
     // ── SLA 집계 쿼리 ────────────────────────────────────────────────────
 
     /** 시간대별 완료 건 조회 (gen_minutes 계산용) */
@@ -0,0 +1,70 @@
+package com.anniversary.video.repository;
+
+import com.anniversary.video.domain.WebhookReceipt;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface WebhookReceiptRepository extends JpaRepository<WebhookReceipt, String> {
+
+    /** 수신 기록 + 처리 임대(leaseUntil 까지) — 이미 있으면 DataIntegrityViolationException (PK 중복) */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO webhook_receipts (webhook_id, received_at, payload, attempts, next_attempt_at) " +
+                   "VALUES (:id, :now, :payload, 0, :leaseUntil)", nativeQuery = true)
+    int insert(@Param("id") String webhookId,
+               @Param("now") LocalDateTime now,
+               @Param("payload") String payload,
+               @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 처리할 차례가 된(미완료 + next_attempt_at 경과) 기록을 임대 — 1 이면 가져감.
+     * 조건부 UPDATE 라 인스턴스가 여럿이어도 한 곳만 처리.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WebhookReceipt r SET r.nextAttemptAt = :leaseUntil " +
+           "WHERE r.webhookId = :id AND r.processedAt IS NULL AND r.nextAttemptAt <= :now")
+    int claim(@Param("id") String webhookId,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /** 재시도 차례가 된 기록 (오래 기다린 순) */
+    @Query("SELECT r.webhookId FROM WebhookReceipt r " +
+           "WHERE r.processedAt IS NULL AND r.nextAttemptAt <= :now AND r.payload IS NOT NULL " +
+           "ORDER BY r.nextAttemptAt")
+    List<String> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE WebhookReceipt r SET r.processedAt = :now, r.nextAttemptAt = NULL WHERE r.webhookId = :id")
+    int markProcessed(@Param("id") String webhookId, @Param("now") LocalDateTime now);
+
+    /** 처리 실패 — 다음 시도 시각 (null 이면 재시도 포기) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WebhookReceipt r SET r.attempts = r.attempts + 1, r.nextAttemptAt = :next, r.lastError = :error " +
+           "WHERE r.webhookId = :id")
+    int markFailed(@Param("id") String webhookId,
+                   @Param("next") LocalDateTime next,
+                   @Param("error") String error);
+
+    /** 임대를 풀어 다음 시각에 다시 처리 (실행 큐 포화 등, 실패 횟수 미증가) */
+    @Modifying
+    @Transactional
+    @Query("UPDATE WebhookReceipt r SET r.nextAttemptAt = :at WHERE r.webhookId = :id AND r.processedAt IS NULL")
+    int reschedule(@Param("id") String webhookId, @Param("at") LocalDateTime at);
+
+    /** 보관 기간 지난 기록 삭제 — 재시도 대기 중인 건은 남김 */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM WebhookReceipt r WHERE r.receivedAt < :before " +
+           "AND (r.processedAt IS NOT NULL OR r.nextAttemptAt IS NULL)")
+    int deleteReceivedBefore(@Param("before") LocalDateTime before);
+}
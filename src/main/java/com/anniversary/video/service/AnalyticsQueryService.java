@@ -0,0 +1,68 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.Order;
+import com.anniversary.video.repository.OrderEventRepository;
+import com.anniversary.video.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 통계 집계용 조회 (OrderScheduler) — 읽기 전용 트랜잭션이라 replica 설정 시 replica 에서 실행.
+ * 집계 결과 저장은 호출 측에서 트랜잭션 밖(primary)으로.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsQueryService {
+
+    private final OrderRepository orderRepository;
+    private final OrderEventRepository orderEventRepository;
+
+    /** 일별 퍼널 — 이벤트 타입별 건수 + 완료 매출 */
+    public DailyFunnel dailyFunnel(LocalDateTime from, LocalDateTime to) {
+        Map<String, Long> eventCounts = orderEventRepository.countByEventTypeGrouped(from, to).stream()
+                .collect(Collectors.toMap(
+                        row -> (String) row[0],
+                        row -> (Long) row[1]
+                ));
+        return new DailyFunnel(eventCounts, orderRepository.sumRevenueInRange(from, to));
+    }
+
+    /** 시간별 SLA — 완료 건 생성 시간(분) 평균/최대/p95 + 실패·재시도 건수 */
+    public HourlySla hourlySla(LocalDateTime from, LocalDateTime to) {
+        List<Order> completed = orderRepository.findCompletedInRange(from, to);
+        long failCount  = orderRepository.countFailedInRange(from, to);
+        long retryCount = orderRepository.sumRetryCountInRange(from, to);
+
+        List<BigDecimal> minutes = completed.stream()
+                .map(Order::getGenMinutes)
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+
+        BigDecimal avgMin = null, maxMin = null, p95Min = null;
+        if (!minutes.isEmpty()) {
+            avgMin = minutes.stream()
+                    .reduce(BigDecimal.ZERO, BigDecimal::add)
+                    .divide(BigDecimal.valueOf(minutes.size()), 2, RoundingMode.HALF_UP);
+            maxMin = minutes.get(minutes.size() - 1);
+            int p95Idx = (int) Math.ceil(minutes.size() * 0.95) - 1;
+            p95Min = minutes.get(Math.max(0, p95Idx));
+        }
+        return new HourlySla(completed.size(), avgMin, maxMin, p95Min, failCount, retryCount);
+    }
+
+    public record DailyFunnel(Map<String, Long> eventCounts, long revenue) {}
+
+    public record HourlySla(int genCount, BigDecimal avgGenMinutes, BigDecimal maxGenMinutes,
+                            BigDecimal p95GenMinutes, long failCount, long retryCount) {}
+}
@@ -0,0 +1,168 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 렌더 워커 로컬 클립 캐시 (S3 키 → 파일, LRU, 용량 제한).
+ * 생성 API 에서 받은 클립은 S3 업로드 후 여기로 이동(write-through) — 같은 워커의 합치기 단계는 S3 를 다시 읽지 않음.
+ * 적중 시 업로드 때 받은 ETag(단일 PUT = MD5)와 복사본 MD5 를 비교, 불일치면 폐기 후 S3 에서 받음.
+ * 인덱스는 메모리에만 있으므로 시작 시 디렉터리를 비움.
+ */
+@Service
+@Slf4j
+public class ClipCache {
+
+    private final Path root;
+    private final long maxBytes;
+
+    /** 접근 순서 LinkedHashMap — 맨 앞이 가장 오래 안 쓴 항목 */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong hits              = new AtomicLong();
+    private final AtomicLong misses            = new AtomicLong();
+    private final AtomicLong evictions         = new AtomicLong();
+    private final AtomicLong integrityFailures = new AtomicLong();
+
+    public ClipCache(
+            @Value("${clip-cache.root:/tmp/anniversary/clip-cache}") String root,
+            @Value("${clip-cache.max-size:2GB}") DataSize maxSize) {
+        this.root = Paths.get(root);
+        this.maxBytes = maxSize.toBytes();
+        clearDirectory();
+    }
+
+    /** 업로드 완료된 파일을 캐시로 이동 — 용량 0 이면 비활성 (파일은 호출측이 정리) */
+    public void put(String s3Key, Path file, String eTag) {
+        if (maxBytes <= 0) return;
+        try {
+            long size = Files.size(file);
+            if (size > maxBytes) return;
+            Files.createDirectories(root);
+            Path target = root.resolve(fileName(s3Key));
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+            synchronized (this) {
+                Entry previous = entries.put(s3Key, new Entry(target, size, eTag));
+                if (previous != null) totalBytes -= previous.size();
+                totalBytes += size;
+                evictOverflow();
+            }
+        } catch (IOException e) {
+            log.warn("클립 캐시 저장 실패 - key: {}, error: {}", s3Key, e.getMessage());
+        }
+    }
+
+    public synchronized boolean contains(String s3Key) {
+        return entries.containsKey(s3Key);
+    }
+
+    /** 캐시 적중 시 target 으로 복사 + 무결성 확인 후 true, 미적중/검증 실패 시 false */
+    public boolean copyTo(String s3Key, Path target) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(s3Key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return false;
+        }
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(entry.path()), md5)) {
+                Files.copy(in, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (!matches(entry, md5.digest(), Files.size(target))) {
+                integrityFailures.incrementAndGet();
+                log.warn("클립 캐시 무결성 불일치 → 폐기 - key: {}", s3Key);
+                remove(s3Key, entry);
+                Files.deleteIfExists(target);
+                return false;
+            }
+            hits.incrementAndGet();
+            log.info("클립 캐시 적중: {} → {}", s3Key, target.getFileName());
+            return true;
+        } catch (IOException | NoSuchAlgorithmException e) {
+            // 복사 직전에 축출된 경우 포함 — S3 에서 받으면 됨
+            misses.incrementAndGet();
+            remove(s3Key, entry);
+            return false;
+        }
+    }
+
+    /** hits/misses/evictions/무결성 실패 + 사용량 — /health 노출용 */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("entries", entries.size());
+        result.put("usedMB", totalBytes >> 20);
+        result.put("maxMB", maxBytes >> 20);
+        result.put("hits", hits.get());
+        result.put("misses", misses.get());
+        result.put("evictions", evictions.get());
+        result.put("integrityFailures", integrityFailures.get());
+        return result;
+    }
+
+    /** multipart ETag("…-N")는 MD5 가 아니므로 크기만 비교 */
+    static boolean matches(Entry entry, byte[] md5, long size) {
+        if (size != entry.size()) return false;
+        String eTag = entry.eTag() == null ? "" : entry.eTag().replace("\"", "");
+        if (eTag.isEmpty() || eTag.contains("-")) return true;
+        return eTag.equalsIgnoreCase(HexFormat.of().formatHex(md5));
+    }
+
+    private synchronized void remove(String s3Key, Entry entry) {
+        if (entries.remove(s3Key, entry)) {
+            totalBytes -= entry.size();
+            deleteQuietly(entry.path());
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && it.hasNext()) {
+            Entry eldest = it.next().getValue();
+            it.remove();
+            totalBytes -= eldest.size();
+            evictions.incrementAndGet();
+            deleteQuietly(eldest.path());
+        }
+    }
+
+    private static String fileName(String s3Key) {
+        return s3Key.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private void clearDirectory() {
+        if (!Files.isDirectory(root)) return;
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Comparator.reverseOrder()).filter(p -> !p.equals(root)).forEach(ClipCache::deleteQuietly);
+        } catch (IOException e) {
+            log.warn("클립 캐시 초기화 실패: {} - {}", root, e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {}
+    }
+
+    record Entry(Path path, long size, String eTag) {}
+}
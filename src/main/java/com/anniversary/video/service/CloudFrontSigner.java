@@ -0,0 +1,93 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * CloudFront 서명 URL (canned policy) — 키 페어 개인키로 로컬 서명, 네트워크 호출 없음.
+ * 재사용 캐시는 S3Service(SignedUrlCache) 에서 — 같은 URL 을 돌려줘야 재다운로드·가족 공유 시 엣지 캐시 적중.
+ * 개인키는 PKCS#8 PEM (openssl pkcs8 -topk8 -nocrypt -in key.pem -out key.pk8.pem).
+ */
+@Service
+@Slf4j
+public class CloudFrontSigner {
+
+    private final String baseUrl;
+    private final String keyPairId;
+    private final PrivateKey privateKey;
+
+    public CloudFrontSigner(
+            @Value("${cloudfront.domain:}") String domain,
+            @Value("${cloudfront.key-pair-id:}") String keyPairId,
+            @Value("${cloudfront.private-key-path:}") String privateKeyPath) {
+        String base = domain.startsWith("http") ? domain : "https://" + domain;
+        this.baseUrl = base.endsWith("/") ? base.substring(0, base.length() - 1) : base;
+        this.keyPairId = keyPairId;
+        this.privateKey = domain.isBlank() || keyPairId.isBlank() || privateKeyPath.isBlank()
+                ? null : loadPrivateKey(privateKeyPath);
+    }
+
+    public boolean isConfigured() {
+        return privateKey != null;
+    }
+
+    /** 키 → expiresAt 까지 유효한 서명 URL */
+    public String sign(String key, Instant expiresAt) {
+        if (privateKey == null) {
+            throw new IllegalStateException("CloudFront 서명 설정 누락 (cloudfront.domain / key-pair-id / private-key-path)");
+        }
+        String resourceUrl = baseUrl + "/" + UriUtils.encodePath(key, StandardCharsets.UTF_8);
+        long expires = expiresAt.getEpochSecond();
+        try {
+            Signature rsa = Signature.getInstance("SHA1withRSA");
+            rsa.initSign(privateKey);
+            rsa.update(cannedPolicy(resourceUrl, expires).getBytes(StandardCharsets.UTF_8));
+            return resourceUrl + "?Expires=" + expires
+                    + "&Signature=" + urlSafe(Base64.getEncoder().encodeToString(rsa.sign()))
+                    + "&Key-Pair-Id=" + keyPairId;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("CloudFront URL 서명 실패: " + key, e);
+        }
+    }
+
+    /** canned policy — 공백 없는 JSON 이어야 CloudFront 가 같은 문자열로 재구성해 검증 */
+    static String cannedPolicy(String resourceUrl, long expires) {
+        return "{\"Statement\":[{\"Resource\":\"" + resourceUrl
+                + "\",\"Condition\":{\"DateLessThan\":{\"AWS:EpochTime\":" + expires + "}}}]}";
+    }
+
+    /** CloudFront 쿼리용 base64 — '+' → '-', '=' → '_', '/' → '~' */
+    static String urlSafe(String base64) {
+        return base64.replace('+', '-').replace('=', '_').replace('/', '~');
+    }
+
+    private static PrivateKey loadPrivateKey(String path) {
+        try {
+            String pem = Files.readString(Paths.get(path));
+            if (!pem.contains("BEGIN PRIVATE KEY")) {
+                throw new IllegalStateException("CloudFront 개인키는 PKCS#8 PEM 이어야 합니다: " + path);
+            }
+            String body = pem.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+            PrivateKey key = KeyFactory.getInstance("RSA")
+                    .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(body)));
+            log.info("CloudFront 서명 키 로드: {}", path);
+            return key;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("CloudFront 개인키 로드 실패: " + path, e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.Order;
+import com.anniversary.video.domain.OrderStatusChanged;
+import com.anniversary.video.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 관리자 대시보드 집계 (메모리) — 상태별 건수, 누적/오늘 매출, 오늘 주문 수.
+ * 시작 시 GROUP BY 한 번으로 채우고, 이후 OrderStatusChanged(커밋 후)마다 증감. 조회는 O(1).
+ * 다른 인스턴스/직접 SQL 수정으로 생기는 오차는 5분마다 DB 재집계로 보정.
+ * 재집계는 readOnly 트랜잭션 — replica 설정 시 replica 에서 (지연 max-lag 이내, 차이는 다음 보정에서 흡수).
+ * 매출 = COMPLETED 주문 금액 합, 오늘 매출 = 그중 오늘 갱신된 건 (기존 대시보드 기준과 동일).
+ */
+@Service
+@Slf4j
+public class DashboardMetrics {
+
+    private final OrderRepository orderRepository;
+
+    private final Map<Order.OrderStatus, Long> counts = new EnumMap<>(Order.OrderStatus.class);
+    private long revenue;
+    private LocalDate today = LocalDate.now();
+    private long todayOrders;
+    private long todayRevenue;
+
+    public DashboardMetrics(OrderRepository orderRepository) {
+        this.orderRepository = orderRepository;
+        for (Order.OrderStatus s : Order.OrderStatus.values()) counts.put(s, 0L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void seed() {
+        reconcile();
+    }
+
+    /** DB 재집계로 교체 — 차이가 있으면 로그 */
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        LocalDateTime todayStart = LocalDate.now().atStartOfDay();
+        List<Object[]> rows = orderRepository.aggregateByStatus(todayStart);
+
+        Map<Order.OrderStatus, Long> fresh = new EnumMap<>(Order.OrderStatus.class);
+        for (Order.OrderStatus s : Order.OrderStatus.values()) fresh.put(s, 0L);
+        long freshRevenue = 0, freshTodayOrders = 0, freshTodayRevenue = 0;
+        for (Object[] row : rows) {
+            Order.OrderStatus status = (Order.OrderStatus) row[0];
+            fresh.put(status, ((Number) row[1]).longValue());
+            freshTodayOrders += ((Number) row[3]).longValue();
+            if (status == Order.OrderStatus.COMPLETED) {
+                freshRevenue = ((Number) row[2]).longValue();
+                freshTodayRevenue = ((Number) row[4]).longValue();
+            }
+        }
+
+        synchronized (this) {
+            if (!fresh.equals(counts) || freshRevenue != revenue) {
+                log.info("대시보드 집계 보정 - 메모리: {} / DB: {}", counts, fresh);
+            }
+            counts.putAll(fresh);
+            revenue = freshRevenue;
+            today = todayStart.toLocalDate();
+            todayOrders = freshTodayOrders;
+            todayRevenue = freshTodayRevenue;
+        }
+    }
+
+    /** 커밋된 상태 전이만 반영 (트랜잭션 밖 save 는 즉시) */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStatusChanged(OrderStatusChanged event) {
+        rollover();
+        long amount = event.order().getAmount() != null ? event.order().getAmount() : 29900;
+
+        if (event.from() == null) {
+            todayOrders++;
+        } else {
+            counts.merge(event.from(), -1L, Long::sum);
+            if (event.from() == Order.OrderStatus.COMPLETED) {
+                revenue -= amount;
+                if (isToday(event.previousUpdatedAt())) todayRevenue -= amount;
+            }
+        }
+        counts.merge(event.to(), 1L, Long::sum);
+        if (event.to() == Order.OrderStatus.COMPLETED) {
+            revenue += amount;
+            todayRevenue += amount;
+        }
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        rollover();
+        long total = counts.values().stream().mapToLong(Long::longValue).sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", total);
+        result.put("pending", counts.get(Order.OrderStatus.PENDING));
+        result.put("paid", counts.get(Order.OrderStatus.PAID));
+        result.put("processing", counts.get(Order.OrderStatus.PROCESSING));
+        result.put("completed", counts.get(Order.OrderStatus.COMPLETED));
+        result.put("failed", counts.get(Order.OrderStatus.FAILED));
+        result.put("revenue", revenue);
+        result.put("todayOrders", todayOrders);
+        result.put("todayRevenue", todayRevenue);
+        return result;
+    }
+
+    /** 자정이 지나면 오늘 집계 초기화 */
+    private void rollover() {
+        LocalDate now = LocalDate.now();
+        if (!now.equals(today)) {
+            today = now;
+            todayOrders = 0;
+            todayRevenue = 0;
+        }
+    }
+
+    private boolean isToday(LocalDateTime time) {
+        return time != null && time.toLocalDate().equals(today);
+    }
+}
@@ -2,35 +2,129 @@ package com.anniversary.video.service;
 
 import com.anniversary.video.domain.Order;
 import com.anniversary.video.domain.OrderPhoto;
-import lombok.RequiredArgsConstructor;
+import lombok.AccessLevel;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.exception.SdkException;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class FfmpegService {
 
     private final S3Service s3Service;
-    private static final String WORK_BASE = "/tmp/anniversary/";
+    private final ScratchSpace scratchSpace;
+    private final Executor clipRenderExecutor;
+
+    /** 스크래치 예약 추정치 (클립 1개당, 인트로/아웃트로 포함) — raw + 정규화 + merged / 최종 3종 + HLS + 미리보기 */
+    private static final long WORK_BYTES_PER_CLIP   = 48L << 20;
+    private static final long OUTPUT_BYTES_PER_CLIP = 32L << 20;
+
+    /** 폰트는 워커 프로세스당 1회만 준비 (스크래치 밖 — 주문 종료 시 삭제 대상 아님) */
+    private static final Path FONT_CACHE_DIR = Paths.get("/tmp/anniversary-fonts");
+
+    /** AI 클립 → 공통 규격 (1080p 레터박스, 30fps) */
+    static final String NORMALIZE_FILTER =
+            "scale=1920:1080:force_original_aspect_ratio=decrease," +
+            "pad=1920:1080:(ow-iw)/2:(oh-ih)/2:black," +
+            "fps=30,setsar=1";
+
+    /** 클립 인코딩 프로파일 (CRF/preset) — 변경 전 RenderBenchmark 로 시간·용량·화질 확인 */
+    @Value("${video.encode.crf:18}")
+    @Setter(AccessLevel.PACKAGE)
+    private int clipCrf = 18;
+
+    @Value("${video.encode.preset:medium}")
+    @Setter(AccessLevel.PACKAGE)
+    private String clipPreset = "medium";
+
+    /** false 면 클립 연결을 항상 ffmpeg concat 으로 */
+    @Value("${video.concat.remux:true}")
+    @Setter(AccessLevel.PACKAGE)
+    private boolean remuxConcat = true;
+
+    /**
+     * true 면 AI 클립을 내려받지 않고 presigned URL 을 ffmpeg 입력으로 직접 사용 (정규화 인코딩과 동시에 병렬 수신).
+     * moov 가 mdat 뒤에 있는 클립은 HTTP 탐색 왕복이 생기므로 클립 단위로 로컬 다운로드 폴백.
+     */
+    @Value("${video.render.stream-inputs:true}")
+    @Setter(AccessLevel.PACKAGE)
+    private boolean streamInputs = true;
+
+    /** 스트리밍 가능 여부 판단용으로 읽는 클립 앞부분 크기 */
+    private static final int CONTAINER_PROBE_BYTES = 64 * 1024;
+
+    /** HTTP 입력 — 끊기면 이어받기, 응답 없으면 15초 후 실패 */
+    private static final String[] HTTP_INPUT_OPTIONS = {
+            "-reconnect", "1", "-reconnect_streamed", "1", "-reconnect_on_network_error", "1",
+            "-reconnect_delay_max", "5", "-rw_timeout", "15000000"
+    };
+
+    /** 단계별 소요 시간(ms) 수신 — 벤치마크용, 기본은 로그만 */
+    @Setter(AccessLevel.PACKAGE)
+    private volatile BiConsumer<Long, Map<String, Long>> stageListener = (orderId, stages) -> {};
+
+    /** 파생 인코딩(세로/공유)도 master와 같은 2초 간격 키프레임 */
+    private static final String KEYFRAME_EVERY_2S = "expr:gte(t,n_forced*2)";
+
+    /** HLS 세그먼트 길이(초) — GOP(2초)의 배수 */
+    private static final int HLS_SEGMENT_SEC = 4;
+
+    /** 미리보기 — 포스터 프레임 시점(인트로 4초 직후), 티저 길이, 스프라이트 타일 간격/크기 */
+    private static final double POSTER_AT_SEC       = 5.0;
+    private static final double TEASER_SEC          = 3.0;
+    static final int SPRITE_INTERVAL_SEC = 2;
+    static final int SPRITE_COLUMNS      = 10;
+    static final int SPRITE_TILE_W       = 160;
+    static final int SPRITE_TILE_H       = 90;
+
+    private volatile Optional<Path> resolvedFont;
+    private volatile Boolean drawtextAvailable;
+    private volatile Boolean webpAvailable;
+
+    public FfmpegService(
+            S3Service s3Service,
+            ScratchSpace scratchSpace,
+            @Qualifier("clipRenderExecutor") Executor clipRenderExecutor) {
+        this.s3Service          = s3Service;
+        this.scratchSpace       = scratchSpace;
+        this.clipRenderExecutor = clipRenderExecutor;
+    }
 
     /**
      * 메인 파이프라인: 인트로 생성 → S3 클립 다운로드 → 합치기 → 음악 → S3 업로드
      */
-    public String mergeClipsWithMusic(Long orderId, List<OrderPhoto> photos, Order order) throws Exception {
-        Path workDir = Paths.get(WORK_BASE + orderId);
-        Files.createDirectories(workDir);
-        log.info("FFmpeg 작업 시작 - orderId: {}, 클립 수: {}", orderId, photos.size());
+    public RenderOutputs mergeClipsWithMusic(Long orderId, List<OrderPhoto> photos, Order order) throws Exception {
+        int clipCount = photos.size() + 2;
+        Map<String, Long> stages = new LinkedHashMap<>();
+        long mark = System.nanoTime();
+
+        // 중간 산출물은 work, 최종 산출물은 output — 예산·여유 디스크 부족 시 여기서 대기
+        try (ScratchSpace.Lease scratch = scratchSpace.acquire(
+                orderId, WORK_BYTES_PER_CLIP * clipCount, OUTPUT_BYTES_PER_CLIP * clipCount)) {
+            Path workDir = scratch.workDir();
+            Path outDir  = scratch.outputDir();
+            mark = stageDone(stages, "scratch_wait", mark);
+            log.info("FFmpeg 작업 시작 - orderId: {}, 클립 수: {}", orderId, photos.size());
 
-        try {
             // 1. 인트로 클립 생성
             String introTitle = (order.getIntroTitle() != null && !order.getIntroTitle().isBlank())
                     ? order.getIntroTitle() : "소중한 순간들";
@@ -40,78 +134,150 @@ public class FfmpegService {
             String outroTitle = (order.getOutroTitle() != null && !order.getOutroTitle().isBlank())
                     ? order.getOutroTitle() : "감사합니다";
             Path outroClip = createOutroClip(workDir, outroTitle);
+            mark = stageDone(stages, "intro_outro", mark);
 
-            // 3. S3에서 각 클립 다운로드
-            List<Path> localClips = new ArrayList<>();
-            localClips.add(introClip);
+            // 3. 클립 입력 준비 — 로컬 캐시 적중분은 복사, 나머지는 presigned URL 직접 입력, 불리한 클립만 S3에서 동시 다운로드
+            List<OrderPhoto> clipPhotos = new ArrayList<>();
+            List<String> clipInputs = new ArrayList<>();
+            Map<String, Path> downloads = new LinkedHashMap<>();
             for (OrderPhoto photo : photos) {
                 if (photo.getClipS3Key() == null) continue;
-                Path localClip = workDir.resolve("clip_" + photo.getSortOrder() + ".mp4");
-                s3Service.downloadToLocal(photo.getClipS3Key(), localClip);
-                localClips.add(localClip);
+                String url = streamableUrl(photo.getClipS3Key());
+                if (url == null) {
+                    Path rawClip = workDir.resolve("raw_" + photo.getSortOrder() + ".mp4");
+                    downloads.put(photo.getClipS3Key(), rawClip);
+                    url = rawClip.toString();
+                }
+                clipPhotos.add(photo);
+                clipInputs.add(url);
             }
+            s3Service.downloadAllToLocal(downloads);
 
-            // 아웃트로를 마지막에 추가
-            localClips.add(outroClip);
-
-            if (localClips.size() <= 2) {
+            if (clipInputs.isEmpty()) {
                 throw new RuntimeException("다운로드된 클립이 없습니다 - orderId: " + orderId);
             }
+            mark = stageDone(stages, "download", mark);
 
-            // 4. concat 리스트 파일 생성
-            Path concatFile = workDir.resolve("concat.txt");
-            StringBuilder sb = new StringBuilder();
-            for (Path clip : localClips) {
-                sb.append("file '").append(clip.toAbsolutePath()).append("'\n");
-            }
-            Files.writeString(concatFile, sb.toString());
-            log.info("concat.txt 생성 완료, 클립 {}개 (인트로 포함)", localClips.size());
+            // 4. 클립별 정규화 (1080p/30fps + 자막) — 코어 수만큼 병렬, 최종 단계는 영상 재인코딩 없음
+            List<Path> localClips = new ArrayList<>();
+            localClips.add(introClip);
+            localClips.addAll(normalizeClipsInParallel(workDir, clipPhotos, clipInputs));
+            localClips.add(outroClip);
+            mark = stageDone(stages, "normalize", mark);
 
-            // 5. 클립 합치기
+            // 5~6. 클립 합치기 (규격 통일됨 → 순수 Java remux, 불가 시 ffmpeg stream copy)
             Path mergedVideo = workDir.resolve("merged.mp4");
-            runFfmpeg(
-                    "-f", "concat", "-safe", "0",
-                    "-i", concatFile.toString(),
-                    "-c", "copy",
-                    mergedVideo.toString()
-            );
+            concatClips(workDir, localClips, mergedVideo);
+            mark = stageDone(stages, "concat", mark);
 
-            // 6. BGM 준비
+            // 7. BGM 준비
             String bgmTrack = (order.getBgmTrack() != null) ? order.getBgmTrack() : "bgm_01";
-            Path bgmPath = prepareBgm(workDir, getTotalDuration(mergedVideo), bgmTrack);
-
-            // 7. BGM 삽입 + 16:9 1080p 최종 인코딩
-            Path finalVideo = workDir.resolve("final.mp4");
-            runFfmpeg(
+            double duration = getTotalDuration(mergedVideo);
+            Path bgmPath = prepareBgm(workDir, duration, bgmTrack);
+            mark = stageDone(stages, "bgm", mark);
+
+            // 8. BGM 삽입 + 출력 전부를 디코딩 1회로 생성 (split)
+            //    master 16:9 1080p — 클립 단계에서 이미 인코딩됨 → copy, fMP4 로 stdout 출력해 인코딩 중 업로드
+            //    vertical 9:16 608x1080 — 중앙 크롭 원본 크기 그대로 (업스케일하면 용량만 늘고 화질은 같음)
+            //    share 720p 저비트레이트 — 메신저 전송용
+            //    poster/teaser/sprite — 상태 페이지·관리자 목록 미리보기
+            double posterAt = Math.min(POSTER_AT_SEC, duration / 2);
+            int spriteRows  = spriteRows(duration);
+            boolean webp    = checkWebpAvailable();
+
+            Path finalVideo    = outDir.resolve("final.mp4");
+            Path verticalVideo = outDir.resolve("vertical.mp4");
+            Path shareVideo    = outDir.resolve("share.mp4");
+            Path posterJpg     = outDir.resolve("poster.jpg");
+            Path posterWebp    = outDir.resolve("poster.webp");
+            Path teaserWebp    = outDir.resolve("teaser.webp");
+            Path spriteJpg     = outDir.resolve("sprite.jpg");
+
+            String filter =
+                    "[0:v]split=" + (webp ? 5 : 4) + "[vv][vs][vp][vsp]" + (webp ? "[vt]" : "") + ";" +
+                    "[vv]crop=608:1080,setsar=1[vert];" +
+                    "[vs]scale=1280:720,setsar=1[share];" +
+                    "[vp]trim=start=" + posterAt + ",setpts=PTS-STARTPTS,scale=1280:720" +
+                            (webp ? ",split=2[poster][posterw];" : "[poster];") +
+                    "[vsp]fps=1/" + SPRITE_INTERVAL_SEC + ",scale=" + SPRITE_TILE_W + ":" + SPRITE_TILE_H +
+                            ",tile=" + SPRITE_COLUMNS + "x" + spriteRows + "[sprite]" +
+                    (webp ? ";[vt]trim=start=" + posterAt + ":duration=" + TEASER_SEC +
+                            ",setpts=PTS-STARTPTS,fps=12,scale=480:270[teaser]" : "");
+
+            List<String> args = new ArrayList<>(List.of(
                     "-i", mergedVideo.toString(),
                     "-i", bgmPath.toString(),
-                    "-map", "0:v:0",
-                    "-map", "1:a:0",
-                    "-vf", "scale=1920:1080:force_original_aspect_ratio=decrease," +
-                           "pad=1920:1080:(ow-iw)/2:(oh-ih)/2:black," +
-                           "fps=30",
-                    "-c:v", "libx264", "-crf", "18", "-preset", "medium",
+                    "-filter_complex", filter,
+                    // master
+                    "-map", "0:v:0", "-map", "1:a:0",
+                    "-c:v", "copy",
                     "-c:a", "aac", "-b:a", "192k",
-                    "-shortest",
-                    "-movflags", "+faststart",
-                    finalVideo.toString()
-            );
-
-            // 8. S3 업로드
-            String s3Key = "results/" + orderId + "/final.mp4";
-            s3Service.uploadFile(finalVideo, s3Key, "video/mp4");
-
-            log.info("✅ FFmpeg 완료 - orderId: {}, s3Key: {}", orderId, s3Key);
-            return s3Key;
-
-        } finally {
-            cleanWorkDir(workDir);
+                    "-shortest", "-movflags", "frag_keyframe+empty_moov+default_base_moof",
+                    "-f", "mp4", "pipe:1",
+                    // vertical
+                    "-map", "[vert]", "-map", "1:a:0",
+                    "-c:v", "libx264", "-crf", "23", "-preset", "medium", "-pix_fmt", "yuv420p",
+                    "-force_key_frames", KEYFRAME_EVERY_2S,
+                    "-c:a", "aac", "-b:a", "128k",
+                    "-shortest", "-movflags", "+faststart",
+                    verticalVideo.toString(),
+                    // share
+                    "-map", "[share]", "-map", "1:a:0",
+                    "-c:v", "libx264", "-crf", "28", "-preset", "medium", "-pix_fmt", "yuv420p",
+                    "-force_key_frames", KEYFRAME_EVERY_2S,
+                    "-maxrate", "1500k", "-bufsize", "3000k",
+                    "-c:a", "aac", "-b:a", "96k",
+                    "-shortest", "-movflags", "+faststart",
+                    shareVideo.toString(),
+                    // poster / sprite
+                    "-map", "[poster]", "-frames:v", "1", "-q:v", "3", posterJpg.toString(),
+                    "-map", "[sprite]", "-frames:v", "1", "-q:v", "5", spriteJpg.toString()
+            ));
+            if (webp) {
+                args.addAll(List.of(
+                        "-map", "[posterw]", "-frames:v", "1", "-c:v", "libwebp", "-quality", "80",
+                        posterWebp.toString(),
+                        "-map", "[teaser]", "-c:v", "libwebp_anim", "-quality", "60", "-loop", "0",
+                        teaserWebp.toString()));
+            } else {
+                log.warn("FFmpeg에 libwebp 인코더가 없습니다. poster.webp/teaser.webp 생략");
+            }
+            String prefix = "results/" + orderId + "/";
+            String masterKey = runFinalRender(args, finalVideo, prefix + "final.mp4");
+
+            // VTT 는 상대경로(sprite.jpg)로 기록 — 비공개 버킷이라 API(/preview/sprite.vtt)가 서명 URL 로 치환해서 내려줌
+            Path spriteVtt = outDir.resolve("sprite.vtt");
+            Files.writeString(spriteVtt, buildSpriteVtt(duration, "sprite.jpg"));
+            mark = stageDone(stages, "final_render", mark);
+
+            // 9. HLS 패키징 — master(1080p)/share(720p) 인코딩 결과를 copy로 세그먼트화
+            Path hlsDir = packageHls(outDir, finalVideo, shareVideo);
+            mark = stageDone(stages, "hls", mark);
+
+            // 10. S3 업로드 (master 는 최종 렌더 중 업로드 완료)
+            RenderOutputs outputs = new RenderOutputs(
+                    masterKey,
+                    s3Service.uploadFile(verticalVideo, prefix + "vertical.mp4", "video/mp4"),
+                    s3Service.uploadFile(shareVideo, prefix + "share.mp4", "video/mp4"),
+                    uploadHls(hlsDir, prefix + "hls/"),
+                    new Previews(
+                            s3Service.uploadFile(posterJpg, prefix + "poster.jpg", "image/jpeg"),
+                            webp ? s3Service.uploadFile(posterWebp, prefix + "poster.webp", "image/webp") : null,
+                            webp ? s3Service.uploadFile(teaserWebp, prefix + "teaser.webp", "image/webp") : null,
+                            s3Service.uploadFile(spriteJpg, prefix + "sprite.jpg", "image/jpeg"),
+                            s3Service.uploadFile(spriteVtt, prefix + "sprite.vtt", "text/vtt")));
+
+            stageDone(stages, "upload", mark);
+
+            log.info("✅ FFmpeg 완료 - orderId: {}, outputs: {}, 단계별(ms): {}", orderId, outputs, stages);
+            stageListener.accept(orderId, stages);
+            return outputs;
         }
     }
 
     // ── 인트로 클립 생성 ────────────────────────────────────────────────────
     private Path createIntroClip(Path workDir, String introTitle) throws Exception {
-        Path fontPath = prepareFont(workDir);
+        Path fontPath = resolveFont();
         Path introClip = workDir.resolve("intro.mp4");
 
         // drawtext 필터 사용 가능 여부 확인
@@ -121,12 +287,9 @@ public class FfmpegService {
             if (!hasDrawtext) {
                 log.warn("FFmpeg에 drawtext 필터가 없습니다 (--enable-libfreetype 필요). 텍스트 없는 인트로 생성");
             }
-            runFfmpeg(
+            runClipEncode(introClip,
                 "-f", "lavfi",
-                "-i", "color=c=black:size=1920x1080:rate=30:duration=4",
-                "-c:v", "libx264", "-crf", "18", "-preset", "medium",
-                "-an",
-                introClip.toString()
+                "-i", "color=c=black:size=1920x1080:rate=30:duration=4"
             );
             log.info("인트로 클립 생성 완료 (텍스트 없음): {}", introClip);
             return introClip;
@@ -147,13 +310,10 @@ public class FfmpegService {
             font, subText,   fadeAlpha
         );
 
-        runFfmpeg(
+        runClipEncode(introClip,
             "-f", "lavfi",
             "-i", "color=c=black:size=1920x1080:rate=30:duration=4",
-            "-vf", vf,
-            "-c:v", "libx264", "-crf", "18", "-preset", "medium",
-            "-an",
-            introClip.toString()
+            "-vf", vf
         );
 
         log.info("인트로 클립 생성 완료: {}", introClip);
@@ -162,18 +322,15 @@ public class FfmpegService {
 
     // ── 아웃트로 클립 생성 ───────────────────────────────────────────────────────────
     private Path createOutroClip(Path workDir, String outroTitle) throws Exception {
-        Path fontPath = prepareFont(workDir);
+        Path fontPath = resolveFont();
         Path outroClip = workDir.resolve("outro.mp4");
 
         boolean hasDrawtext = checkDrawtextAvailable();
 
         if (fontPath == null || !hasDrawtext) {
-            runFfmpeg(
+            runClipEncode(outroClip,
                 "-f", "lavfi",
-                "-i", "color=c=black:size=1920x1080:rate=30:duration=4",
-                "-c:v", "libx264", "-crf", "18", "-preset", "medium",
-                "-an",
-                outroClip.toString()
+                "-i", "color=c=black:size=1920x1080:rate=30:duration=4"
             );
             log.info("아웃트로 클립 생성 완료 (텍스트 없음): {}", outroClip);
             return outroClip;
@@ -194,42 +351,267 @@ public class FfmpegService {
             font, subText,   fadeAlpha
         );
 
-        runFfmpeg(
+        runClipEncode(outroClip,
             "-f", "lavfi",
             "-i", "color=c=black:size=1920x1080:rate=30:duration=4",
-            "-vf", vf,
-            "-c:v", "libx264", "-crf", "18", "-preset", "medium",
-            "-an",
-            outroClip.toString()
+            "-vf", vf
         );
 
         log.info("아웃트로 클립 생성 완료: {}", outroClip);
         return outroClip;
     }
 
-    /** FFmpeg drawtext 필터 사용 가능 여부 확인 */
+    private static long stageDone(Map<String, Long> stages, String stage, long startedNanos) {
+        long now = System.nanoTime();
+        stages.put(stage, (now - startedNanos) / 1_000_000);
+        return now;
+    }
+
+    // ── 최종 렌더 + master 점진 업로드 ──────────────────────────────────────
+    /**
+     * master 는 stdout(pipe:1)의 fMP4 를 로컬 파일에 쓰면서 8MB 가 찰 때마다 multipart 파트로 병렬 전송.
+     * 파이프 출력이라 muxer 가 되돌아가 쓰지 않으므로 기록한 바이트가 곧 확정된 파트.
+     * 인코더 종료 후에는 마지막 파트 + complete 만 남음. 점진 업로드 실패 시 완성 파일 업로드로 폴백.
+     */
+    private String runFinalRender(List<String> args, Path masterFile, String masterKey) throws Exception {
+        MultipartUpload upload = null;
+        try {
+            upload = s3Service.startMultipartUpload(masterKey, "video/mp4").orElse(null);
+        } catch (SdkException e) {
+            log.warn("점진 업로드 시작 실패 → 렌더 후 업로드 - key: {}, error: {}", masterKey, e.getMessage());
+        }
+
+        List<String> cmd = new ArrayList<>(List.of("ffmpeg", "-y"));
+        cmd.addAll(args);
+        log.info("FFmpeg: {}", String.join(" ", cmd));
+        Path ffLog = masterFile.resolveSibling("final_render.log");
+        Process process = new ProcessBuilder(cmd).redirectError(ffLog.toFile()).start();
+
+        byte[] buf = new byte[MultipartUpload.PART_SIZE];
+        int filled = 0;
+        try (InputStream in = process.getInputStream();
+             OutputStream file = Files.newOutputStream(masterFile)) {
+            int n;
+            while ((n = in.read(buf, filled, buf.length - filled)) != -1) {
+                file.write(buf, filled, n);
+                filled += n;
+                if (filled == buf.length) {
+                    upload = submitOrDrop(upload, Arrays.copyOf(buf, filled), masterKey);
+                    filled = 0;
+                }
+            }
+            if (filled > 0) upload = submitOrDrop(upload, Arrays.copyOf(buf, filled), masterKey);
+        } catch (Exception e) {
+            process.destroy();
+            if (upload != null) upload.abort();
+            throw e;
+        }
+
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            if (upload != null) upload.abort();
+            String output = Files.readString(ffLog);
+            log.error("FFmpeg 실패:\n{}", output.substring(Math.max(0, output.length() - 2000)));
+            throw new RuntimeException("FFmpeg 실패 - exitCode: " + exitCode);
+        }
+
+        if (upload != null) {
+            try {
+                return upload.complete();
+            } catch (IllegalStateException e) {
+                log.warn("점진 업로드 실패 → 완성 파일 업로드: {}", e.getMessage());
+            }
+        }
+        return s3Service.uploadFile(masterFile, masterKey, "video/mp4");
+    }
+
+    /** 파트 제출 — 이전 파트 실패로 거부되면 업로드를 취소하고 이후는 로컬 파일에만 기록 */
+    private MultipartUpload submitOrDrop(MultipartUpload upload, byte[] part, String key) throws InterruptedException {
+        if (upload == null) return null;
+        try {
+            upload.submitPart(part);
+            return upload;
+        } catch (IllegalStateException e) {
+            log.warn("점진 업로드 중단 → 렌더 후 업로드 - key: {}, error: {}", key, e.getMessage());
+            upload.abort();
+            return null;
+        }
+    }
+
+    // ── 클립 연결 ───────────────────────────────────────────────────────────
+    /** 코덱 파라미터가 같으면 프로세스 내 remux (fork·중간 복사 없음), 다르거나 파싱 실패 시 ffmpeg concat */
+    void concatClips(Path workDir, List<Path> clips, Path output) throws Exception {
+        long started = System.currentTimeMillis();
+        if (remuxConcat) {
+            try {
+                Mp4Concatenator.concat(clips, output);
+                log.info("클립 연결 완료 (remux) - {}개, {}ms", clips.size(), System.currentTimeMillis() - started);
+                return;
+            } catch (IOException | RuntimeException e) {
+                log.warn("remux 연결 불가 → ffmpeg concat 폴백: {}", e.getMessage());
+            }
+        }
+
+        Path concatFile = workDir.resolve("concat.txt");
+        StringBuilder sb = new StringBuilder();
+        for (Path clip : clips) {
+            sb.append("file '").append(clip.toAbsolutePath()).append("'\n");
+        }
+        Files.writeString(concatFile, sb.toString());
+        runFfmpeg(
+                "-f", "concat", "-safe", "0",
+                "-i", concatFile.toString(),
+                "-c", "copy",
+                output.toString()
+        );
+        log.info("클립 연결 완료 (ffmpeg) - {}개, {}ms", clips.size(), System.currentTimeMillis() - started);
+    }
+
+    /** FFmpeg drawtext 필터 사용 가능 여부 확인 (프로세스당 1회) */
     private boolean checkDrawtextAvailable() {
+        Boolean cached = drawtextAvailable;
+        if (cached != null) return cached;
+        boolean available;
         try {
             ProcessBuilder pb = new ProcessBuilder("ffmpeg", "-filters");
             pb.redirectErrorStream(true);
             Process p = pb.start();
             String output = new String(p.getInputStream().readAllBytes());
             p.waitFor();
-            return output.contains("drawtext");
+            available = output.contains("drawtext");
+        } catch (Exception e) {
+            available = false;
+        }
+        drawtextAvailable = available;
+        return available;
+    }
+
+    /** FFmpeg libwebp 인코더 사용 가능 여부 확인 (프로세스당 1회) */
+    private boolean checkWebpAvailable() {
+        Boolean cached = webpAvailable;
+        if (cached != null) return cached;
+        boolean available;
+        try {
+            ProcessBuilder pb = new ProcessBuilder("ffmpeg", "-encoders");
+            pb.redirectErrorStream(true);
+            Process p = pb.start();
+            String output = new String(p.getInputStream().readAllBytes());
+            p.waitFor();
+            available = output.contains("libwebp_anim");
         } catch (Exception e) {
-            return false;
+            available = false;
         }
+        webpAvailable = available;
+        return available;
+    }
+
+    // ── 썸네일 스프라이트 (tile 필터 + WebVTT 인덱스) ────────────────────────
+    static int spriteRows(double durationSec) {
+        int tiles = Math.max(1, (int) Math.ceil(durationSec / SPRITE_INTERVAL_SEC));
+        return (tiles + SPRITE_COLUMNS - 1) / SPRITE_COLUMNS;
     }
 
-    // ── 한국어 폰트 준비 ────────────────────────────────────────────────────
-    private Path prepareFont(Path workDir) throws Exception {
-        Path fontDest = workDir.resolve("font.otf");
+    /** 타일 i → [i*간격, (i+1)*간격) 구간, 이미지 좌표는 #xywh 미디어 프래그먼트 */
+    static String buildSpriteVtt(double durationSec, String imageName) {
+        StringBuilder vtt = new StringBuilder("WEBVTT\n");
+        int tiles = Math.max(1, (int) Math.ceil(durationSec / SPRITE_INTERVAL_SEC));
+        for (int i = 0; i < tiles; i++) {
+            double start = (double) i * SPRITE_INTERVAL_SEC;
+            double end   = Math.min(start + SPRITE_INTERVAL_SEC, durationSec);
+            int x = (i % SPRITE_COLUMNS) * SPRITE_TILE_W;
+            int y = (i / SPRITE_COLUMNS) * SPRITE_TILE_H;
+            vtt.append('\n')
+               .append(vttTime(start)).append(" --> ").append(vttTime(end)).append('\n')
+               .append(imageName).append("#xywh=")
+               .append(x).append(',').append(y).append(',')
+               .append(SPRITE_TILE_W).append(',').append(SPRITE_TILE_H).append('\n');
+        }
+        return vtt.toString();
+    }
 
+    private static String vttTime(double sec) {
+        long ms = Math.round(sec * 1000);
+        return String.format("%02d:%02d:%02d.%03d", ms / 3_600_000, (ms / 60_000) % 60, (ms / 1000) % 60, ms % 1000);
+    }
+
+    // ── HLS (fMP4) 패키징 ─────────────────────────────────────────────────
+    private Path packageHls(Path outDir, Path masterVideo, Path shareVideo) throws Exception {
+        Path hlsDir = outDir.resolve("hls");
+        StringBuilder master = new StringBuilder("#EXTM3U\n#EXT-X-VERSION:7\n#EXT-X-INDEPENDENT-SEGMENTS\n");
+        List<HlsRung> ladder = List.of(
+                new HlsRung("1080p", masterVideo, "1920x1080"),
+                new HlsRung("720p",  shareVideo,  "1280x720"));
+        for (HlsRung rung : ladder) {
+            String name = rung.name();
+            Path source = rung.source();
+            Path variantDir = Files.createDirectories(hlsDir.resolve(name));
+            runFfmpeg(
+                    "-i", source.toString(),
+                    "-c", "copy",
+                    "-f", "hls",
+                    "-hls_time", String.valueOf(HLS_SEGMENT_SEC),
+                    "-hls_playlist_type", "vod",
+                    "-hls_segment_type", "fmp4",
+                    "-hls_flags", "independent_segments",
+                    "-hls_fmp4_init_filename", "init.mp4",
+                    "-hls_segment_filename", variantDir.resolve("seg_%03d.m4s").toString(),
+                    variantDir.resolve("index.m3u8").toString()
+            );
+            // 평균 비트레이트 × 1.3 을 BANDWIDTH(피크) 추정치로 사용
+            double duration = Math.max(1.0, getTotalDuration(source));
+            long bandwidth = (long) (Files.size(source) * 8 / duration * 1.3);
+            master.append("#EXT-X-STREAM-INF:BANDWIDTH=").append(bandwidth)
+                  .append(",RESOLUTION=").append(rung.resolution()).append('\n')
+                  .append(name).append("/index.m3u8\n");
+        }
+        Files.writeString(hlsDir.resolve("master.m3u8"), master.toString());
+        log.info("HLS 패키징 완료: {}", hlsDir);
+        return hlsDir;
+    }
+
+    private record HlsRung(String name, Path source, String resolution) {}
+
+    /** hls/ 하위 파일 전체 업로드 → master.m3u8 S3 키 반환 */
+    private String uploadHls(Path hlsDir, String keyPrefix) throws Exception {
+        List<Path> files;
+        try (var walk = Files.walk(hlsDir)) {
+            files = walk.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            String key = keyPrefix + hlsDir.relativize(file).toString().replace('\\', '/');
+            String name = file.getFileName().toString();
+            String contentType = name.endsWith(".m3u8") ? "application/vnd.apple.mpegurl"
+                    : name.endsWith(".m4s") ? "video/iso.segment" : "video/mp4";
+            s3Service.uploadFile(file, key, contentType);
+        }
+        return keyPrefix + "master.m3u8";
+    }
+
+    // ── 한국어 폰트 준비 (워커당 1회 해석, 이후 재사용) ──────────────────────
+    private Path resolveFont() {
+        Optional<Path> cached = resolvedFont;
+        if (cached == null) {
+            synchronized (this) {
+                cached = resolvedFont;
+                if (cached == null) {
+                    cached = Optional.ofNullable(locateFont());
+                    resolvedFont = cached;
+                }
+            }
+        }
+        return cached.orElse(null);
+    }
+
+    private Path locateFont() {
         try {
             ClassPathResource fontRes = new ClassPathResource("fonts/NotoSansKR-Regular.ttf");
             if (fontRes.exists()) {
-                Files.copy(fontRes.getInputStream(), fontDest, StandardCopyOption.REPLACE_EXISTING);
-                log.info("내장 폰트 사용: fonts/NotoSansKR-Regular.ttf");
+                Path fontDest = FONT_CACHE_DIR.resolve("NotoSansKR-Regular.ttf");
+                if (!Files.exists(fontDest) || Files.size(fontDest) != fontRes.contentLength()) {
+                    Files.createDirectories(FONT_CACHE_DIR);
+                    Files.copy(fontRes.getInputStream(), fontDest, StandardCopyOption.REPLACE_EXISTING);
+                }
+                log.info("내장 폰트 사용: {}", fontDest);
                 return fontDest;
             }
         } catch (Exception ignored) {}
@@ -251,6 +633,111 @@ public class FfmpegService {
         return null;
     }
 
+    // ── 클립 정규화: scale/pad/fps + 자막을 한 번의 인코딩으로 ──────────────
+    private List<Path> normalizeClipsInParallel(Path workDir, List<OrderPhoto> photos, List<String> inputs) {
+        List<CompletableFuture<Path>> futures = new ArrayList<>();
+        for (int i = 0; i < photos.size(); i++) {
+            OrderPhoto photo = photos.get(i);
+            String input = inputs.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return normalizeClip(workDir, photo, input);
+                } catch (Exception e) {
+                    throw new RuntimeException("클립 정규화 실패 - sortOrder: " + photo.getSortOrder()
+                            + ", error: " + e.getMessage(), e);
+                }
+            }, clipRenderExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException(cause.getMessage(), cause);
+        }
+        return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+    }
+
+    private Path normalizeClip(Path workDir, OrderPhoto photo, String input) throws Exception {
+        Path clip = workDir.resolve("clip_" + photo.getSortOrder() + ".mp4");
+        String vf = NORMALIZE_FILTER;
+
+        String caption = photo.getCaption();
+        Path fontPath = resolveFont();
+        if (caption != null && !caption.isBlank() && fontPath != null && checkDrawtextAvailable()) {
+            // textfile 사용 → 자막 내용의 따옴표/콜론 이스케이프 불필요
+            Path captionFile = workDir.resolve("caption_" + photo.getSortOrder() + ".txt");
+            Files.writeString(captionFile, caption.strip());
+            vf += String.format(
+                ",drawtext=fontfile='%s':textfile='%s':fontcolor=white:fontsize=44" +
+                ":borderw=2:bordercolor=black@0.6" +
+                ":x=(w-text_w)/2:y=h-text_h-90" +
+                ":alpha='if(lt(t,0.5),0,if(lt(t,1),(t-0.5)*2,if(lt(t,5),1,if(lt(t,5.5),(5.5-t)*2,0))))'",
+                fontPath.toAbsolutePath(), captionFile.toAbsolutePath());
+        }
+
+        List<String> args = new ArrayList<>();
+        if (input.startsWith("http")) args.addAll(List.of(HTTP_INPUT_OPTIONS));
+        args.addAll(List.of("-i", input, "-vf", vf));
+        runClipEncode(clip, args.toArray(new String[0]));
+        return clip;
+    }
+
+    // ── 클립 입력 결정 (presigned URL vs 로컬 다운로드) ─────────────────────
+    /** 직접 입력할 presigned URL, 로컬 다운로드가 나으면 null */
+    private String streamableUrl(String key) {
+        if (!streamInputs || s3Service.isCached(key)) return null;
+        try {
+            if (isMoovBeforeMdat(s3Service.downloadRange(key, 0, CONTAINER_PROBE_BYTES))) {
+                return s3Service.generateRenderInputUrl(key);
+            }
+            log.info("moov 가 뒤쪽에 있어 로컬 다운로드 - key: {}", key);
+        } catch (Exception e) {
+            log.warn("클립 구조 확인 실패 → 로컬 다운로드 - key: {}, error: {}", key, e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * 최상위 박스를 따라가며 moov 가 mdat 보다 먼저 나오는지 (faststart) 확인.
+     * 앞부분만으로 판단할 수 없으면 false — 로컬 다운로드가 안전한 기본값.
+     */
+    static boolean isMoovBeforeMdat(byte[] head) {
+        ByteBuffer buf = ByteBuffer.wrap(head);
+        long pos = 0;
+        while (pos + 8 <= head.length) {
+            long size = buf.getInt((int) pos) & 0xFFFFFFFFL;
+            String type = new String(head, (int) pos + 4, 4, StandardCharsets.ISO_8859_1);
+            if (type.equals("moov")) return true;
+            if (type.equals("mdat")) return false;
+            if (size == 1) {
+                if (pos + 16 > head.length) return false;
+                size = buf.getLong((int) pos + 8);
+            }
+            if (size < 8) return false;   // size 0(파일 끝까지) 또는 손상
+            pos += size;
+        }
+        return false;
+    }
+
+    /** 모든 클립(인트로/본편/아웃트로)이 공유하는 출력 규격 — concat -c copy 전제 조건 */
+    static String[] clipEncodeArgs(int crf, String preset) {
+        return new String[] {
+                "-c:v", "libx264", "-crf", String.valueOf(crf), "-preset", preset,
+                "-pix_fmt", "yuv420p", "-video_track_timescale", "15360",
+                "-g", "60", "-keyint_min", "60", "-sc_threshold", "0",   // 2초 GOP — HLS 세그먼트 경계
+                "-an"
+        };
+    }
+
+    /** 입력 인자 + 공통 클립 규격으로 인코딩 */
+    private void runClipEncode(Path output, String... inputArgs) throws Exception {
+        List<String> args = new ArrayList<>(List.of(inputArgs));
+        args.addAll(List.of(clipEncodeArgs(clipCrf, clipPreset)));
+        args.add(output.toString());
+        runFfmpeg(args.toArray(new String[0]));
+    }
+
     // ── BGM 파일 준비 ────────────────────────────────────────────────────────
     private Path prepareBgm(Path workDir, double durationSec, String bgmTrack) throws Exception {
         Path bgmPath = workDir.resolve("bgm.mp3");
@@ -301,7 +788,8 @@ public class FfmpegService {
         cmd.add("-y");
         for (String arg : args) cmd.add(arg);
 
-        log.info("FFmpeg: {}", String.join(" ", cmd));
+        // presigned URL 서명은 로그에 남기지 않음
+        log.info("FFmpeg: {}", String.join(" ", cmd).replaceAll("\\?X-Amz-\\S*", "?<signed>"));
         ProcessBuilder pb = new ProcessBuilder(cmd);
         pb.redirectErrorStream(true);
         Process process = pb.start();
@@ -325,14 +813,9 @@ public class FfmpegService {
         }
     }
 
-    private void cleanWorkDir(Path workDir) {
-        try {
-            Files.walk(workDir)
-                    .sorted(Comparator.reverseOrder())
-                    .forEach(p -> { try { Files.delete(p); } catch (Exception ignored) {} });
-            log.info("임시 파일 정리 완료: {}", workDir);
-        } catch (Exception e) {
-            log.warn("임시 파일 정리 실패: {}", e.getMessage());
-        }
-    }
+    /** 최종 렌더 결과 S3 키 — master(16:9 1080p), vertical(9:16), share(720p 저용량), hls(master.m3u8) */
+    public record RenderOutputs(String master, String vertical, String share, String hls, Previews previews) {}
+
+    /** 미리보기 S3 키 — libwebp 없는 빌드에서는 webp 두 개가 null */
+    public record Previews(String poster, String posterWebp, String teaser, String sprite, String spriteVtt) {}
 }
@@ -0,0 +1,86 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HLS 플레이리스트 서빙 — 버킷은 비공개라 세그먼트를 상대경로로 둘 수 없음.
+ * master.m3u8은 그대로 내려주고 (변형 플레이리스트는 같은 API 경로 하위로 상대 참조),
+ * 변형 index.m3u8은 init/세그먼트 URI를 S3 Presigned GET URL로 치환해서 응답.
+ * 썸네일 스프라이트 sprite.vtt 도 같은 이유로 이미지 참조를 서명 URL 로 치환.
+ */
+@Service
+@RequiredArgsConstructor
+public class HlsPlaylistService {
+
+    private static final Pattern VARIANT_NAME = Pattern.compile("^[0-9a-z]+$");
+    private static final Pattern MAP_URI = Pattern.compile("URI=\"([^\"]+)\"");
+
+    private final S3Service s3Service;
+
+    public String masterPlaylist(Order order) {
+        return new String(s3Service.downloadBytes(requireHlsPath(order)), StandardCharsets.UTF_8);
+    }
+
+    public String mediaPlaylist(Order order, String variant) {
+        if (!VARIANT_NAME.matcher(variant).matches()) {
+            throw new IllegalArgumentException("잘못된 재생 품질입니다: " + variant);
+        }
+        String hlsPrefix = hlsPrefix(requireHlsPath(order));
+        String variantPrefix = hlsPrefix + variant + "/";
+        String playlist = new String(
+                s3Service.downloadBytes(variantPrefix + "index.m3u8"), StandardCharsets.UTF_8);
+
+        StringBuilder out = new StringBuilder(playlist.length() * 4);
+        for (String line : playlist.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty()) continue;
+            if (trimmed.startsWith("#EXT-X-MAP:")) {
+                Matcher m = MAP_URI.matcher(trimmed);
+                out.append(m.find()
+                        ? m.replaceFirst(Matcher.quoteReplacement(
+                                "URI=\"" + s3Service.generateDownloadUrl(variantPrefix + m.group(1)) + "\""))
+                        : trimmed);
+            } else if (trimmed.startsWith("#")) {
+                out.append(trimmed);
+            } else {
+                out.append(s3Service.generateDownloadUrl(variantPrefix + trimmed));
+            }
+            out.append('\n');
+        }
+        return out.toString();
+    }
+
+    /** sprite.vtt — 큐 본문의 "sprite.jpg#xywh=..." 에서 이미지 부분만 서명 URL 로 (미디어 프래그먼트 유지) */
+    public String spriteVtt(Order order) {
+        if (order.getStatus() != Order.OrderStatus.COMPLETED
+                || order.getS3SpriteVttPath() == null || order.getS3SpritePath() == null) {
+            throw new IllegalStateException("썸네일 미리보기가 없습니다: " + order.getId());
+        }
+        String vtt = new String(s3Service.downloadBytes(order.getS3SpriteVttPath()), StandardCharsets.UTF_8);
+        String spriteUrl = s3Service.generateDownloadUrl(order.getS3SpritePath());
+
+        StringBuilder out = new StringBuilder(vtt.length() * 2);
+        for (String line : vtt.split("\n")) {
+            int fragment = line.indexOf("#xywh=");
+            out.append(fragment > 0 ? spriteUrl + line.substring(fragment) : line).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static String requireHlsPath(Order order) {
+        if (order.getStatus() != Order.OrderStatus.COMPLETED || order.getS3HlsPath() == null) {
+            throw new IllegalStateException("스트리밍 가능한 영상이 없습니다: " + order.getId());
+        }
+        return order.getS3HlsPath();
+    }
+
+    private static String hlsPrefix(String masterKey) {
+        return masterKey.substring(0, masterKey.lastIndexOf('/') + 1);
+    }
+}
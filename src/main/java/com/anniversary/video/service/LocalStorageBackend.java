@@ -0,0 +1,186 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * 로컬 파일시스템 저장소 (local-storage 프로파일) — 키를 storage.local.root 하위 경로로 매핑.
+ * presigned URL 은 /storage/{key}?expires=&sig= (HMAC-SHA256) 로 LocalStorageController 가 서빙 (Range 지원).
+ * 클라우드 없이 주문 전체 흐름을 실제 I/O 로 벤치마크/부하 테스트하거나 단일 서버에서 운영할 때 사용.
+ */
+@Service
+@Slf4j
+@Profile("local-storage")
+public class LocalStorageBackend implements StorageBackend {
+
+    private final Path root;
+    private final String baseUrl;
+    private final byte[] secret;
+
+    public LocalStorageBackend(
+            @Value("${storage.local.root:./data/storage}") String root,
+            @Value("${storage.local.base-url:${app.base-url}}") String baseUrl,
+            @Value("${storage.local.secret:}") String secret) {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        if (secret.isBlank()) {
+            // 재시작하면 이전에 발급한 URL 은 무효 — 고정하려면 storage.local.secret 지정
+            log.warn("storage.local.secret 미설정 → 임시 서명 키 사용");
+            this.secret = new byte[32];
+            new SecureRandom().nextBytes(this.secret);
+        } else {
+            this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Override
+    public String put(String key, Path file, String contentType) throws Exception {
+        try (InputStream in = Files.newInputStream(file)) {
+            return write(key, in);
+        }
+    }
+
+    @Override
+    public String putBytes(String key, byte[] data, String contentType) {
+        try {
+            return write(key, new ByteArrayInputStream(data));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 같은 디렉터리 임시 파일에 쓴 뒤 원자적 교체 — 읽는 쪽은 완성본만 봄. 반환값은 MD5 hex (S3 단일 PUT ETag 와 동일 형식) */
+    public String write(String key, InputStream in) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            MessageDigest md5 = MessageDigest.getInstance("MD5");
+            try (InputStream digesting = new DigestInputStream(in, md5)) {
+                Files.copy(digesting, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return "\"" + HexFormat.of().formatHex(md5.digest()) + "\"";
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public Path get(String key, Path target) throws IOException {
+        return Files.copy(resolve(key), target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public byte[] getBytes(String key) {
+        try {
+            return Files.readAllBytes(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public byte[] getRange(String key, long offset, int length) {
+        try (FileChannel channel = FileChannel.open(resolve(key), StandardOpenOption.READ)) {
+            ByteBuffer buf = ByteBuffer.allocate((int) Math.max(0, Math.min(length, channel.size() - offset)));
+            while (buf.hasRemaining() && channel.read(buf, offset + buf.position()) > 0) {}
+            return buf.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** ETag 는 크기·수정 시각 기반 (매 요청 해시 계산 회피) */
+    @Override
+    public Optional<ObjectInfo> head(String key) {
+        Path path = resolve(key);
+        try {
+            long size = Files.size(path);
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            return Optional.of(new ObjectInfo(size, "\"" + Long.toHexString(modified) + "-" + Long.toHexString(size) + "\""));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        try {
+            Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String presignGet(String key, Duration ttl) {
+        return presign("GET", key, ttl);
+    }
+
+    @Override
+    public String presignPut(String key, Duration ttl) {
+        return presign("PUT", key, ttl);
+    }
+
+    private String presign(String method, String key, Duration ttl) {
+        long expires = Instant.now().plus(ttl).getEpochSecond();
+        return baseUrl + "/storage/" + UriUtils.encodePath(key, StandardCharsets.UTF_8)
+                + "?expires=" + expires + "&sig=" + sign(method, key, expires);
+    }
+
+    /** 서명·만료 검증 — 실패 시 false (LocalStorageController 가 403) */
+    public boolean verify(String method, String key, long expires, String signature) {
+        if (signature == null || Instant.now().getEpochSecond() > expires) return false;
+        return MessageDigest.isEqual(
+                sign(method, key, expires).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** 키 → 파일 경로. 루트 밖을 가리키는 키(../ 등)는 거부 */
+    public Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("잘못된 저장소 키: " + key);
+        }
+        return path;
+    }
+
+    private String sign(String method, String key, long expires) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] sig = mac.doFinal((method + "\n" + key + "\n" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(sig);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
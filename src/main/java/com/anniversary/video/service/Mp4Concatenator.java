@@ -0,0 +1,605 @@
+package com.anniversary.video.service;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 규격이 같은 MP4 클립들을 프로세스 내에서 이어붙이는 remuxer (ffmpeg -f concat -c copy 대체).
+ * <p>
+ * moov/trak/stbl 박스를 파싱해 샘플 테이블(stts/ctts/stss/stsc/stsz/stco)을 오프셋 보정해 다시 만들고,
+ * mdat 데이터는 FileChannel.transferTo 로 커널 내 복사 — 유저 공간 버퍼링 없음.
+ * 단일 비디오 트랙 + 동일 코덱 파라미터(stsd, btrt 제외)일 때만 처리하고,
+ * 그 외에는 IllegalStateException → 호출측에서 ffmpeg concat 으로 폴백.
+ * 출력 레이아웃: ftyp → mdat → moov (중간 산출물이라 faststart 불필요)
+ */
+public final class Mp4Concatenator {
+
+    private static final Set<String> CONTAINERS = Set.of("moov", "trak", "mdia", "minf", "stbl", "edts");
+    private static final long UINT32_MAX = 0xFFFFFFFFL;
+
+    /** VisualSampleEntry 고정 필드 길이 (reserved~pre_defined) — 이후가 avcC/pasp/btrt 등 하위 박스 */
+    private static final int VISUAL_SAMPLE_ENTRY_FIELDS = 78;
+
+    private Mp4Concatenator() {}
+
+    public static void concat(List<Path> inputs, Path output) throws IOException {
+        if (inputs.isEmpty()) {
+            throw new IllegalArgumentException("연결할 클립이 없습니다");
+        }
+        List<Clip> clips = new ArrayList<>();
+        for (Path input : inputs) {
+            clips.add(Clip.parse(input));
+        }
+        Clip first = clips.get(0);
+        for (Clip clip : clips) {
+            first.requireCompatible(clip);
+        }
+        write(clips, output);
+    }
+
+    // ── 출력 ────────────────────────────────────────────────────────────────
+    private static void write(List<Clip> clips, Path output) throws IOException {
+        Clip first = clips.get(0);
+
+        long dataSize = 0;
+        int sampleCount = 0;
+        int chunkCount = 0;
+        for (Clip clip : clips) {
+            for (int size : clip.sizes) dataSize += size;
+            sampleCount += clip.sizes.length;
+            chunkCount  += clip.chunkOffsets.length;
+        }
+        boolean largeMdat = dataSize + 8 > UINT32_MAX;
+        int mdatHeader = largeMdat ? 16 : 8;
+
+        // 출력 청크 오프셋 — 입력 청크 구성을 그대로 유지
+        long[] outChunkOffsets = new long[chunkCount];
+        int[]  outChunkSamples = new int[chunkCount];
+        long cursor = first.ftyp.length + mdatHeader;
+        int chunk = 0;
+        for (Clip clip : clips) {
+            int sample = 0;
+            for (int c = 0; c < clip.chunkOffsets.length; c++, chunk++) {
+                outChunkOffsets[chunk] = cursor;
+                outChunkSamples[chunk] = clip.chunkSamples[c];
+                for (int s = 0; s < clip.chunkSamples[c]; s++) cursor += clip.sizes[sample++];
+            }
+        }
+
+        Box moov = buildMoov(clips, sampleCount, outChunkOffsets, outChunkSamples);
+
+        try (FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            writeFully(out, ByteBuffer.wrap(first.ftyp));
+
+            ByteBuffer header = ByteBuffer.allocate(mdatHeader);
+            if (largeMdat) {
+                header.putInt(1).put(fourcc("mdat")).putLong(dataSize + 16);
+            } else {
+                header.putInt((int) (dataSize + 8)).put(fourcc("mdat"));
+            }
+            writeFully(out, header.flip());
+
+            for (Clip clip : clips) {
+                try (FileChannel in = FileChannel.open(clip.path, StandardOpenOption.READ)) {
+                    transferChunks(in, clip, out);
+                }
+            }
+
+            ByteBuffer moovBytes = ByteBuffer.allocate((int) moov.size());
+            moov.writeTo(moovBytes);
+            writeFully(out, moovBytes.flip());
+        }
+    }
+
+    /** 인접한 청크는 한 번의 transferTo 로 묶어서 복사 */
+    private static void transferChunks(FileChannel in, Clip clip, FileChannel out) throws IOException {
+        long runStart = -1;
+        long runLength = 0;
+        int sample = 0;
+        for (int c = 0; c < clip.chunkOffsets.length; c++) {
+            long length = 0;
+            for (int s = 0; s < clip.chunkSamples[c]; s++) length += clip.sizes[sample++];
+            if (runStart >= 0 && runStart + runLength == clip.chunkOffsets[c]) {
+                runLength += length;
+            } else {
+                if (runStart >= 0) transferFully(in, runStart, runLength, out);
+                runStart  = clip.chunkOffsets[c];
+                runLength = length;
+            }
+        }
+        if (runStart >= 0) transferFully(in, runStart, runLength, out);
+    }
+
+    private static void transferFully(FileChannel in, long position, long length, FileChannel out) throws IOException {
+        while (length > 0) {
+            long n = in.transferTo(position, length, out);
+            if (n <= 0) throw new EOFException("mdat 데이터가 파일 끝을 넘습니다");
+            position += n;
+            length   -= n;
+        }
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buf) throws IOException {
+        while (buf.hasRemaining()) out.write(buf);
+    }
+
+    private static Box buildMoov(List<Clip> clips, int sampleCount, long[] chunkOffsets, int[] chunkSamples) {
+        Clip first = clips.get(0);
+
+        long mediaDuration = 0;
+        long movieDuration = 0;
+        for (Clip clip : clips) {
+            long clipMedia = 0;
+            for (int d : clip.durations) clipMedia += d & UINT32_MAX;
+            mediaDuration += clipMedia;
+            movieDuration += first.hasEdit()
+                    ? clip.editDuration
+                    : clipMedia * first.movieTimescale / first.mediaTimescale;
+        }
+
+        Box moov = Box.parse("moov", first.moov.serialize());
+        setDuration(moov.child("mvhd"), 16, 24, movieDuration);
+        Box trak = moov.child("trak");
+        setDuration(trak.child("tkhd"), 20, 28, movieDuration);
+        if (first.hasEdit()) {
+            trak.child("edts").replace("elst", elst(movieDuration, first.editMediaTime));
+        }
+        Box mdia = trak.child("mdia");
+        setDuration(mdia.child("mdhd"), 16, 24, mediaDuration);
+
+        Box stbl = mdia.child("minf").child("stbl");
+        Box newStbl = Box.container("stbl");
+        newStbl.children.add(new Box("stsd", first.stsd));
+        newStbl.children.add(new Box("stts", stts(clips)));
+        if (clips.stream().anyMatch(c -> c.compositionOffsets != null)) {
+            newStbl.children.add(new Box("ctts", ctts(clips)));
+        }
+        if (clips.stream().anyMatch(c -> c.syncSamples != null)) {
+            newStbl.children.add(new Box("stss", stss(clips)));
+        }
+        newStbl.children.add(new Box("stsc", stsc(chunkSamples)));
+        newStbl.children.add(new Box("stsz", stsz(clips, sampleCount)));
+        boolean co64 = chunkOffsets.length > 0 && chunkOffsets[chunkOffsets.length - 1] > UINT32_MAX;
+        newStbl.children.add(new Box(co64 ? "co64" : "stco", chunkOffsetTable(chunkOffsets, co64)));
+        mdia.child("minf").replace(stbl.type, newStbl);
+        return moov;
+    }
+
+    // ── 샘플 테이블 생성 ────────────────────────────────────────────────────
+    private static byte[] stts(List<Clip> clips) {
+        RunLength runs = new RunLength();
+        for (Clip clip : clips) {
+            for (int d : clip.durations) runs.add(d);
+        }
+        return runs.toFullBox(0);
+    }
+
+    private static byte[] ctts(List<Clip> clips) {
+        RunLength runs = new RunLength();
+        boolean negative = false;
+        for (Clip clip : clips) {
+            for (int i = 0; i < clip.sizes.length; i++) {
+                int offset = clip.compositionOffsets != null ? clip.compositionOffsets[i] : 0;
+                negative |= offset < 0 && clip.cttsVersion == 1;
+                runs.add(offset);
+            }
+        }
+        return runs.toFullBox(negative ? 1 : 0);
+    }
+
+    private static byte[] stss(List<Clip> clips) {
+        List<Integer> sync = new ArrayList<>();
+        int base = 0;
+        for (Clip clip : clips) {
+            if (clip.syncSamples == null) {
+                for (int i = 1; i <= clip.sizes.length; i++) sync.add(base + i);
+            } else {
+                for (int s : clip.syncSamples) sync.add(base + s);
+            }
+            base += clip.sizes.length;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(8 + 4 * sync.size());
+        buf.putInt(0).putInt(sync.size());
+        for (int s : sync) buf.putInt(s);
+        return buf.array();
+    }
+
+    private static byte[] stsc(int[] chunkSamples) {
+        List<int[]> entries = new ArrayList<>();
+        for (int c = 0; c < chunkSamples.length; c++) {
+            if (entries.isEmpty() || entries.get(entries.size() - 1)[1] != chunkSamples[c]) {
+                entries.add(new int[]{c + 1, chunkSamples[c]});
+            }
+        }
+        ByteBuffer buf = ByteBuffer.allocate(8 + 12 * entries.size());
+        buf.putInt(0).putInt(entries.size());
+        for (int[] e : entries) buf.putInt(e[0]).putInt(e[1]).putInt(1);
+        return buf.array();
+    }
+
+    private static byte[] stsz(List<Clip> clips, int sampleCount) {
+        ByteBuffer buf = ByteBuffer.allocate(12 + 4 * sampleCount);
+        buf.putInt(0).putInt(0).putInt(sampleCount);
+        for (Clip clip : clips) {
+            for (int size : clip.sizes) buf.putInt(size);
+        }
+        return buf.array();
+    }
+
+    private static byte[] chunkOffsetTable(long[] offsets, boolean co64) {
+        ByteBuffer buf = ByteBuffer.allocate(8 + (co64 ? 8 : 4) * offsets.length);
+        buf.putInt(0).putInt(offsets.length);
+        for (long o : offsets) {
+            if (co64) buf.putLong(o);
+            else buf.putInt((int) o);
+        }
+        return buf.array();
+    }
+
+    private static Box elst(long segmentDuration, long mediaTime) {
+        boolean v1 = segmentDuration > UINT32_MAX || mediaTime > Integer.MAX_VALUE;
+        ByteBuffer buf = ByteBuffer.allocate(v1 ? 28 : 20);
+        buf.putInt(v1 ? 0x01000000 : 0).putInt(1);
+        if (v1) buf.putLong(segmentDuration).putLong(mediaTime);
+        else buf.putInt((int) segmentDuration).putInt((int) mediaTime);
+        buf.putInt(0x00010000);   // media_rate 1.0
+        return new Box("elst", buf.array());
+    }
+
+    /** full box 의 duration 필드 갱신 — mvhd/mdhd(v0 @16, v1 @24), tkhd(v0 @20, v1 @28) */
+    private static void setDuration(Box fullBox, int v0Offset, int v1Offset, long duration) {
+        ByteBuffer buf = ByteBuffer.wrap(fullBox.payload);
+        if (buf.get(0) == 1) {
+            buf.putLong(v1Offset, duration);
+        } else {
+            if (duration > UINT32_MAX) {
+                throw new IllegalStateException(fullBox.type + " duration 이 32비트 범위를 넘습니다");
+            }
+            buf.putInt(v0Offset, (int) duration);
+        }
+    }
+
+    // ── 입력 파싱 ───────────────────────────────────────────────────────────
+    private static final class Clip {
+        Path path;
+        byte[] ftyp;               // 헤더 포함 원본 바이트
+        Box moov;
+        long movieTimescale;
+        long mediaTimescale;
+        byte[] stsd;               // btrt 제외한 stsd (비교·출력용)
+        long editMediaTime = -1;   // elst 없으면 -1
+        long editDuration;
+        int[] sizes;
+        int[] durations;
+        int[] compositionOffsets;  // ctts 없으면 null
+        int cttsVersion;
+        int[] syncSamples;         // stss 없으면 null (= 전부 키프레임)
+        long[] chunkOffsets;
+        int[] chunkSamples;
+
+        boolean hasEdit() {
+            return editMediaTime >= 0;
+        }
+
+        static Clip parse(Path path) throws IOException {
+            Clip clip = new Clip();
+            clip.path = path;
+            try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+                long fileSize = ch.size();
+                long pos = 0;
+                while (pos + 8 <= fileSize) {
+                    ByteBuffer header = readAt(ch, pos, 16 <= fileSize - pos ? 16 : 8);
+                    long size = header.getInt(0) & UINT32_MAX;
+                    String type = new String(header.array(), 4, 4, StandardCharsets.ISO_8859_1);
+                    int headerSize = 8;
+                    if (size == 1) {
+                        size = header.getLong(8);
+                        headerSize = 16;
+                    } else if (size == 0) {
+                        size = fileSize - pos;
+                    }
+                    if (size < headerSize || pos + size > fileSize) {
+                        throw new IOException("잘못된 MP4 박스: " + type + " @" + pos + " (" + path.getFileName() + ")");
+                    }
+                    if (type.equals("ftyp")) {
+                        clip.ftyp = readAt(ch, pos, (int) size).array();
+                    } else if (type.equals("moov")) {
+                        ByteBuffer payload = readAt(ch, pos + headerSize, (int) (size - headerSize));
+                        clip.moov = Box.parse("moov", payload.array());
+                    }
+                    pos += size;
+                }
+            }
+            if (clip.ftyp == null || clip.moov == null) {
+                throw new IllegalStateException("ftyp/moov 가 없는 파일입니다: " + path.getFileName());
+            }
+            clip.readTrack();
+            return clip;
+        }
+
+        private void readTrack() {
+            long traks = moov.children.stream().filter(b -> b.type.equals("trak")).count();
+            if (traks != 1) {
+                throw new IllegalStateException("트랙이 " + traks + "개인 클립은 remux 불가: " + path.getFileName());
+            }
+            movieTimescale = ByteBuffer.wrap(moov.child("mvhd").payload).getInt(timescaleOffset(moov.child("mvhd"))) & UINT32_MAX;
+
+            Box trak = moov.child("trak");
+            Box mdia = trak.child("mdia");
+            String handler = new String(mdia.child("hdlr").payload, 8, 4, StandardCharsets.ISO_8859_1);
+            if (!handler.equals("vide")) {
+                throw new IllegalStateException("비디오 트랙이 아닙니다 (" + handler + "): " + path.getFileName());
+            }
+            Box mdhd = mdia.child("mdhd");
+            mediaTimescale = ByteBuffer.wrap(mdhd.payload).getInt(timescaleOffset(mdhd)) & UINT32_MAX;
+
+            Box edts = trak.optionalChild("edts");
+            if (edts != null) readEditList(edts.child("elst"));
+
+            Box stbl = mdia.child("minf").child("stbl");
+            stsd = stsdWithoutBtrt(stbl.child("stsd").payload);
+            readSizes(stbl.child("stsz"));
+            durations = expandRuns(stbl.child("stts").payload, sizes.length, "stts");
+            Box ctts = stbl.optionalChild("ctts");
+            if (ctts != null) {
+                cttsVersion = ctts.payload[0];
+                compositionOffsets = expandRuns(ctts.payload, sizes.length, "ctts");
+            }
+            Box stss = stbl.optionalChild("stss");
+            if (stss != null) {
+                ByteBuffer buf = ByteBuffer.wrap(stss.payload, 4, stss.payload.length - 4);
+                syncSamples = new int[buf.getInt()];
+                for (int i = 0; i < syncSamples.length; i++) syncSamples[i] = buf.getInt();
+            }
+            Box stco = stbl.optionalChild("stco");
+            readChunkOffsets(stco != null ? stco : stbl.child("co64"), stco == null);
+            readSampleToChunk(stbl.child("stsc"));
+        }
+
+        private void readEditList(Box elst) {
+            ByteBuffer buf = ByteBuffer.wrap(elst.payload);
+            boolean v1 = buf.get(0) == 1;
+            buf.position(4);
+            if (buf.getInt() != 1) {
+                throw new IllegalStateException("edit list 엔트리가 여러 개인 클립은 remux 불가: " + path.getFileName());
+            }
+            editDuration  = v1 ? buf.getLong() : buf.getInt() & UINT32_MAX;
+            editMediaTime = v1 ? buf.getLong() : buf.getInt();
+            if (editMediaTime < 0) {
+                throw new IllegalStateException("빈 edit(지연 시작) 클립은 remux 불가: " + path.getFileName());
+            }
+        }
+
+        private void readSizes(Box stsz) {
+            ByteBuffer buf = ByteBuffer.wrap(stsz.payload, 4, stsz.payload.length - 4);
+            int uniform = buf.getInt();
+            sizes = new int[buf.getInt()];
+            for (int i = 0; i < sizes.length; i++) sizes[i] = uniform != 0 ? uniform : buf.getInt();
+        }
+
+        private void readChunkOffsets(Box box, boolean co64) {
+            ByteBuffer buf = ByteBuffer.wrap(box.payload, 4, box.payload.length - 4);
+            chunkOffsets = new long[buf.getInt()];
+            for (int i = 0; i < chunkOffsets.length; i++) {
+                chunkOffsets[i] = co64 ? buf.getLong() : buf.getInt() & UINT32_MAX;
+            }
+        }
+
+        private void readSampleToChunk(Box stsc) {
+            ByteBuffer buf = ByteBuffer.wrap(stsc.payload, 4, stsc.payload.length - 4);
+            int entries = buf.getInt();
+            int[][] table = new int[entries][];
+            for (int i = 0; i < entries; i++) {
+                table[i] = new int[]{buf.getInt(), buf.getInt(), buf.getInt()};
+                if (table[i][2] != 1) {
+                    throw new IllegalStateException("샘플 디스크립션이 여러 개인 클립은 remux 불가: " + path.getFileName());
+                }
+            }
+            chunkSamples = new int[chunkOffsets.length];
+            int total = 0;
+            for (int i = 0; i < entries; i++) {
+                int from = table[i][0] - 1;
+                int to   = i + 1 < entries ? table[i + 1][0] - 1 : chunkOffsets.length;
+                for (int c = from; c < to && c < chunkSamples.length; c++) {
+                    chunkSamples[c] = table[i][1];
+                    total += table[i][1];
+                }
+            }
+            if (total != sizes.length) {
+                throw new IllegalStateException("stsc/stsz 샘플 수 불일치: " + path.getFileName());
+            }
+        }
+
+        /** stts/ctts 공통 (count, value) 런 → 샘플별 값 */
+        private int[] expandRuns(byte[] payload, int sampleCount, String type) {
+            ByteBuffer buf = ByteBuffer.wrap(payload, 4, payload.length - 4);
+            int entries = buf.getInt();
+            int[] values = new int[sampleCount];
+            int i = 0;
+            for (int e = 0; e < entries; e++) {
+                int count = buf.getInt();
+                int value = buf.getInt();
+                for (int k = 0; k < count && i < sampleCount; k++) values[i++] = value;
+            }
+            if (i != sampleCount) {
+                throw new IllegalStateException(type + " 샘플 수 불일치: " + path.getFileName());
+            }
+            return values;
+        }
+
+        void requireCompatible(Clip other) {
+            if (other.movieTimescale != movieTimescale || other.mediaTimescale != mediaTimescale) {
+                throw new IllegalStateException("timescale 불일치: " + other.path.getFileName());
+            }
+            if (!Arrays.equals(other.stsd, stsd)) {
+                throw new IllegalStateException("코덱 파라미터(stsd) 불일치: " + other.path.getFileName());
+            }
+            if (other.editMediaTime != editMediaTime) {
+                throw new IllegalStateException("edit list 시작 지연 불일치: " + other.path.getFileName());
+            }
+        }
+
+        /**
+         * stsd 에서 btrt(비트레이트 정보) 박스를 뺀 사본 — 클립마다 값이 달라 비교에서 제외하고,
+         * 이어붙인 결과에는 맞지 않는 값이라 출력에서도 생략.
+         */
+        private byte[] stsdWithoutBtrt(byte[] stsd) {
+            ByteBuffer buf = ByteBuffer.wrap(stsd);
+            if (buf.getInt(4) != 1) {
+                throw new IllegalStateException("stsd 엔트리가 1개가 아닙니다: " + path.getFileName());
+            }
+            int entrySize = buf.getInt(8);
+            String format = new String(stsd, 12, 4, StandardCharsets.ISO_8859_1);
+            byte[] entry = Arrays.copyOfRange(stsd, 16, 8 + entrySize);
+            if (entry.length < VISUAL_SAMPLE_ENTRY_FIELDS) {
+                throw new IllegalStateException("비디오 샘플 엔트리가 아닙니다 (" + format + "): " + path.getFileName());
+            }
+            List<Box> children = Box.parseChildren(
+                    Arrays.copyOfRange(entry, VISUAL_SAMPLE_ENTRY_FIELDS, entry.length), false);
+            children.removeIf(b -> b.type.equals("btrt"));
+
+            ByteBuffer rebuilt = ByteBuffer.allocate(entry.length);
+            rebuilt.put(entry, 0, VISUAL_SAMPLE_ENTRY_FIELDS);
+            for (Box child : children) child.writeTo(rebuilt);
+            Box sampleEntryBox = new Box(format, Arrays.copyOf(rebuilt.array(), rebuilt.position()));
+
+            ByteBuffer out = ByteBuffer.allocate(8 + (int) sampleEntryBox.size());
+            out.put(stsd, 0, 8);
+            sampleEntryBox.writeTo(out);
+            return out.array();
+        }
+
+        private static int timescaleOffset(Box fullBox) {
+            return fullBox.payload[0] == 1 ? 20 : 12;
+        }
+
+        private static ByteBuffer readAt(FileChannel ch, long position, int length) throws IOException {
+            ByteBuffer buf = ByteBuffer.allocate(length);
+            while (buf.hasRemaining()) {
+                if (ch.read(buf, position + buf.position()) < 0) throw new EOFException();
+            }
+            return buf;
+        }
+    }
+
+    // ── 박스 트리 ───────────────────────────────────────────────────────────
+    private static final class Box {
+        final String type;
+        final byte[] payload;     // leaf
+        final List<Box> children; // container
+
+        Box(String type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+            this.children = null;
+        }
+
+        private Box(String type, List<Box> children) {
+            this.type = type;
+            this.payload = null;
+            this.children = children;
+        }
+
+        static Box container(String type) {
+            return new Box(type, new ArrayList<>());
+        }
+
+        static Box parse(String type, byte[] payload) {
+            return CONTAINERS.contains(type) ? new Box(type, parseChildren(payload, true)) : new Box(type, payload);
+        }
+
+        static List<Box> parseChildren(byte[] data, boolean descend) {
+            List<Box> boxes = new ArrayList<>();
+            ByteBuffer buf = ByteBuffer.wrap(data);
+            while (buf.remaining() >= 8) {
+                int start = buf.position();
+                long size = buf.getInt() & UINT32_MAX;
+                byte[] typeBytes = new byte[4];
+                buf.get(typeBytes);
+                String type = new String(typeBytes, StandardCharsets.ISO_8859_1);
+                int headerSize = 8;
+                if (size == 1) {
+                    size = buf.getLong();
+                    headerSize = 16;
+                } else if (size == 0) {
+                    size = data.length - start;
+                }
+                if (size < headerSize || start + size > data.length) {
+                    throw new IllegalStateException("잘못된 MP4 박스: " + type);
+                }
+                byte[] payload = Arrays.copyOfRange(data, start + headerSize, (int) (start + size));
+                boxes.add(descend ? parse(type, payload) : new Box(type, payload));
+                buf.position((int) (start + size));
+            }
+            return boxes;
+        }
+
+        Box optionalChild(String childType) {
+            return children.stream().filter(b -> b.type.equals(childType)).findFirst().orElse(null);
+        }
+
+        Box child(String childType) {
+            Box box = optionalChild(childType);
+            if (box == null) throw new IllegalStateException(type + " 에 " + childType + " 박스가 없습니다");
+            return box;
+        }
+
+        void replace(String childType, Box replacement) {
+            children.replaceAll(b -> b.type.equals(childType) ? replacement : b);
+        }
+
+        long size() {
+            if (children == null) return 8L + payload.length;
+            long size = 8;
+            for (Box child : children) size += child.size();
+            return size;
+        }
+
+        void writeTo(ByteBuffer out) {
+            out.putInt((int) size()).put(fourcc(type));
+            if (children == null) {
+                out.put(payload);
+            } else {
+                for (Box child : children) child.writeTo(out);
+            }
+        }
+
+        byte[] serialize() {
+            ByteBuffer buf = ByteBuffer.allocate((int) size());
+            writeTo(buf);
+            return Arrays.copyOfRange(buf.array(), 8, buf.capacity());
+        }
+    }
+
+    /** stts/ctts 용 (count, value) 런 길이 누적 */
+    private static final class RunLength {
+        private final List<int[]> runs = new ArrayList<>();
+
+        void add(int value) {
+            int[] last = runs.isEmpty() ? null : runs.get(runs.size() - 1);
+            if (last != null && last[1] == value) last[0]++;
+            else runs.add(new int[]{1, value});
+        }
+
+        byte[] toFullBox(int version) {
+            ByteBuffer buf = ByteBuffer.allocate(8 + 8 * runs.size());
+            buf.putInt(version << 24).putInt(runs.size());
+            for (int[] run : runs) buf.putInt(run[0]).putInt(run[1]);
+            return buf.array();
+        }
+    }
+
+    private static byte[] fourcc(String type) {
+        return type.getBytes(StandardCharsets.ISO_8859_1);
+    }
+}
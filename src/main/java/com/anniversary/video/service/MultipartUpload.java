@@ -0,0 +1,117 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+
+/**
+ * S3 multipart 업로드 1건 — 파트를 업로드 풀에서 병렬 전송.
+ * 파트마다 SHA-256 체크섬(S3 가 검증) + 재시도, 메모리에 대기하는 파트 수는 동시 전송 수로 제한.
+ * 파트 제출은 단일 스레드(생산자)에서만 호출.
+ */
+@Slf4j
+public class MultipartUpload {
+
+    /** 파트 크기 — S3 최소 5MB (마지막 파트 제외) */
+    static final int PART_SIZE = 8 * 1024 * 1024;
+
+    private static final int MAX_IN_FLIGHT = 4;
+    private static final int MAX_ATTEMPTS  = 3;
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final String uploadId;
+    private final Executor executor;
+
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+
+    MultipartUpload(S3Client s3Client, String bucket, String key, String uploadId, Executor executor) {
+        this.s3Client = s3Client;
+        this.bucket   = bucket;
+        this.key      = key;
+        this.uploadId = uploadId;
+        this.executor = executor;
+    }
+
+    /** 다음 번호 파트 전송 예약 — 동시 전송이 가득 차면 자리가 날 때까지 대기 */
+    public void submitPart(byte[] data) throws InterruptedException {
+        if (parts.stream().anyMatch(CompletableFuture::isCompletedExceptionally)) {
+            throw new IllegalStateException("이전 파트 업로드 실패 - key: " + key);
+        }
+        int partNumber = parts.size() + 1;
+        inFlight.acquire();
+        try {
+            parts.add(CompletableFuture.supplyAsync(() -> uploadPart(partNumber, data), executor)
+                    .whenComplete((part, e) -> inFlight.release()));
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    /** 남은 파트 완료 대기 후 병합 — 실패 시 abort 하고 IllegalStateException */
+    public String complete() {
+        try {
+            List<CompletedPart> completed = parts.stream().map(CompletableFuture::join).toList();
+            s3Client.completeMultipartUpload(r -> r.bucket(bucket).key(key).uploadId(uploadId)
+                    .multipartUpload(m -> m.parts(completed)));
+            log.info("S3 multipart 업로드 완료: {} ({}개 파트)", key, completed.size());
+            return key;
+        } catch (RuntimeException e) {
+            abort();
+            throw new IllegalStateException("multipart 업로드 실패 - key: " + key + ", error: " + e.getMessage(), e);
+        }
+    }
+
+    /** 전송 중인 파트가 끝난 뒤 업로드 취소 (이미 올라간 파트 저장 비용 방지) */
+    public void abort() {
+        for (CompletableFuture<CompletedPart> part : parts) {
+            try {
+                part.join();
+            } catch (RuntimeException ignored) {}
+        }
+        try {
+            s3Client.abortMultipartUpload(r -> r.bucket(bucket).key(key).uploadId(uploadId));
+            log.info("S3 multipart 업로드 취소: {}", key);
+        } catch (SdkException e) {
+            log.warn("S3 multipart 취소 실패: {} - {}", key, e.getMessage());
+        }
+    }
+
+    private CompletedPart uploadPart(int partNumber, byte[] data) {
+        UploadPartRequest req = UploadPartRequest.builder()
+                .bucket(bucket).key(key).uploadId(uploadId)
+                .partNumber(partNumber).contentLength((long) data.length)
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256).build();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UploadPartResponse res = s3Client.uploadPart(req, RequestBody.fromBytes(data));
+                return CompletedPart.builder()
+                        .partNumber(partNumber).eTag(res.eTag()).checksumSHA256(res.checksumSHA256()).build();
+            } catch (SdkException e) {
+                if (attempt >= MAX_ATTEMPTS) throw e;
+                log.warn("파트 업로드 재시도 - key: {}, part: {}, attempt: {}, error: {}",
+                        key, partNumber, attempt, e.getMessage());
+                try {
+                    Thread.sleep(500L * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+}
@@ -103,6 +103,15 @@ public class NotificationService {
         logNotifyEvent(order.getId(), "failure_alert");
     }
 
+    // ── 웹훅 처리 최종 실패 (관리자 슬랙) ────────────────────────────────
+    public void sendWebhookFailureAlert(String webhookId, int attempts, String error) {
+        String msg = String.format(
+                "🚨 결제 웹훅 처리 실패!\nwebhook-id: %s\n시도: %d회\n오류: %s\n포트원 결제 상태 확인 후 수동 처리 필요",
+                webhookId, attempts, error);
+        log.error(msg);
+        sendSlack(msg);
+    }
+
     // ── 이벤트 로깅 헬퍼 ──────────────────────────────────────────────────
     private void logNotifyEvent(Long orderId, String subType) {
         if (eventLoggingService != null) {
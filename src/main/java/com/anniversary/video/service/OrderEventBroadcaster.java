@@ -0,0 +1,217 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.OrderStatusChanged;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 주문 상태/진행률 SSE 브로드캐스터 (프로세스 내).
+ * 고객은 accessToken 단위, 관리자는 전체 피드. 상태 전이는 OrderStatusChanged(커밋 후), 클립 진행률은 VideoGenerationService 가 직접 발행.
+ * 전송은 연결별 제한 큐 → sseExecutor 에서 비움 — 느린 클라이언트가 발행 스레드를 막지 않음.
+ * 큐가 넘치면 연결을 닫음 (클라이언트는 재연결 시 현재 상태부터 다시 받거나 폴링으로 전환).
+ */
+@Service
+@Slf4j
+public class OrderEventBroadcaster {
+
+    private static final int BUFFER_PER_CONNECTION = 32;
+    private static final int MAX_PER_ORDER = 5;
+    private static final int MAX_ADMIN = 10;
+
+    private final Executor sseExecutor;
+    private final int maxConnections;
+    private final Duration timeout;
+
+    private final Map<String, List<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+    private final List<Subscriber> adminSubscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public OrderEventBroadcaster(
+            @Qualifier("sseExecutor") Executor sseExecutor,
+            @Value("${sse.max-connections:500}") int maxConnections,
+            @Value("${sse.timeout:30m}") Duration timeout) {
+        this.sseExecutor = sseExecutor;
+        this.maxConnections = maxConnections;
+        this.timeout = timeout;
+    }
+
+    /**
+     * 고객 구독 — 등록 후 snapshot(상태 조회와 같은 본문)을 첫 이벤트로 보냄 (등록 전 전이를 놓치지 않도록 이 순서).
+     * 제한 초과 시 IllegalStateException (클라이언트는 폴링으로 전환)
+     */
+    public SseEmitter subscribe(String accessToken, Supplier<Object> snapshot) {
+        Subscriber sub = open(self -> orderSubscribers.computeIfPresent(accessToken, (k, subs) -> {
+            subs.remove(self);
+            return subs.isEmpty() ? null : subs;
+        }));
+        boolean[] accepted = {false};
+        orderSubscribers.compute(accessToken, (k, subs) -> {
+            List<Subscriber> list = subs != null ? subs : new CopyOnWriteArrayList<>();
+            if (list.size() < MAX_PER_ORDER) {
+                list.add(sub);
+                accepted[0] = true;
+            }
+            return list.isEmpty() ? null : list;
+        });
+        if (!accepted[0]) {
+            sub.close();
+            throw new IllegalStateException("이 주문의 실시간 연결이 너무 많습니다.");
+        }
+        enqueue(sub, SseEmitter.event().name("snapshot").data(snapshot.get()));
+        return sub.emitter;
+    }
+
+    /** 관리자 전체 피드 구독 */
+    public synchronized SseEmitter subscribeAdmin() {
+        if (adminSubscribers.size() >= MAX_ADMIN) {
+            throw new IllegalStateException("관리자 실시간 연결이 너무 많습니다.");
+        }
+        Subscriber sub = open(adminSubscribers::remove);
+        adminSubscribers.add(sub);
+        enqueue(sub, SseEmitter.event().name("connected").data(Map.of()));
+        return sub.emitter;
+    }
+
+    /** 전체 연결 수 확인 + emitter 생성 */
+    private Subscriber open(Consumer<Subscriber> detach) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new IllegalStateException("실시간 연결 수 초과 — 잠시 후 다시 시도해주세요.");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber sub = new Subscriber(emitter, self -> {
+            connections.decrementAndGet();
+            detach.accept(self);
+        });
+        emitter.onCompletion(sub::close);
+        emitter.onTimeout(sub::close);
+        emitter.onError(e -> sub.close());
+        return sub;
+    }
+
+    /** 상태 전이 커밋 후 — 상태 조회 캐시 무효화(OrderStatusCache, 우선 실행) 뒤에 알림 */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChanged event) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("orderId", event.orderId());
+        data.put("from", event.from());
+        data.put("status", event.to());
+        publish(event.order().getAccessToken(), "status", data);
+    }
+
+    /** 진행률 (예: 클립 n/total) */
+    public void progress(Long orderId, String accessToken, String stage, int done, int total) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("orderId", orderId);
+        data.put("stage", stage);
+        data.put("done", done);
+        data.put("total", total);
+        publish(accessToken, "progress", data);
+    }
+
+    private void publish(String accessToken, String event, Map<String, Object> data) {
+        List<Subscriber> subs = accessToken != null ? orderSubscribers.get(accessToken) : null;
+        if (subs != null) subs.forEach(s -> enqueue(s, SseEmitter.event().name(event).data(data)));
+        adminSubscribers.forEach(s -> enqueue(s, SseEmitter.event().name(event).data(data)));
+    }
+
+    /** 프록시/로드밸런서 유휴 타임아웃 방지 + 끊긴 연결 정리 */
+    @Scheduled(fixedRate = 15_000)
+    public void heartbeat() {
+        orderSubscribers.values().forEach(subs -> subs.forEach(s -> enqueue(s, SseEmitter.event().comment("hb"))));
+        adminSubscribers.forEach(s -> enqueue(s, SseEmitter.event().comment("hb")));
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("connections", connections.get());
+        result.put("orders", orderSubscribers.size());
+        result.put("admins", adminSubscribers.size());
+        result.put("dropped", dropped.get());
+        return result;
+    }
+
+    private void enqueue(Subscriber sub, SseEmitter.SseEventBuilder event) {
+        if (sub.closed()) return;
+        if (!sub.queue.offer(event)) {
+            dropped.incrementAndGet();
+            log.debug("SSE 버퍼 초과 — 연결 종료");
+            sub.close();
+            sub.emitter.complete();
+            return;
+        }
+        if (sub.draining.compareAndSet(false, true)) submitDrain(sub);
+    }
+
+    private void submitDrain(Subscriber sub) {
+        try {
+            sseExecutor.execute(() -> drain(sub));
+        } catch (RejectedExecutionException e) {
+            // 전송 풀 포화 — 이 연결은 닫고 클라이언트 재연결에 맡김
+            dropped.incrementAndGet();
+            sub.draining.set(false);
+            sub.close();
+            sub.emitter.complete();
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            SseEmitter.SseEventBuilder next;
+            while ((next = sub.queue.poll()) != null) {
+                sub.emitter.send(next);
+            }
+        } catch (Exception e) {
+            // 클라이언트가 끊김
+            sub.close();
+            sub.queue.clear();
+            sub.emitter.completeWithError(e);
+        } finally {
+            sub.draining.set(false);
+        }
+        if (!sub.queue.isEmpty() && sub.draining.compareAndSet(false, true)) submitDrain(sub);
+    }
+
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final Consumer<Subscriber> onClose;
+        final Queue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(BUFFER_PER_CONNECTION);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Consumer<Subscriber> onClose) {
+            this.emitter = emitter;
+            this.onClose = onClose;
+        }
+
+        /** 연결 수 반환 + 목록에서 제거 (한 번만) */
+        void close() {
+            if (closed.compareAndSet(false, true)) onClose.accept(this);
+        }
+
+        boolean closed() {
+            return closed.get();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package com.anniversary.video.service;
 
 import com.anniversary.video.domain.Order;
-import com.anniversary.video.repository.OrderEventRepository;
 import com.anniversary.video.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,14 +9,9 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.IOException;
-import java.math.BigDecimal;
-import java.nio.file.*;
-import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
@@ -25,14 +19,13 @@ import java.util.stream.Collectors;
 public class OrderScheduler {
 
     private final OrderRepository orderRepository;
-    private final OrderEventRepository orderEventRepository;
+    private final AnalyticsQueryService analyticsQueryService;
     private final NotificationService notificationService;
     private final VideoGenerationService videoGenerationService;
     private final JdbcTemplate jdbcTemplate;
+    private final ScratchSpace scratchSpace;
 
     private static final int MAX_AUTO_RETRY  = 2;
-    private static final String TMP_BASE_DIR  = "/tmp/anniversary/";
-    private static final long   TMP_MAX_AGE_H = 3;
 
     // ── PENDING 24h 자동만료 — 매시 정각 ──────────────────────────────────
     @Scheduled(cron = "0 0 * * * *")
@@ -71,38 +64,12 @@ public class OrderScheduler {
         });
     }
 
-    // ── tmp 디렉터리 정리 — 매시 20분 ─────────────────────────────────────
+    // ── 스크래치 잔재 정리 — 매시 20분 (정상 종료 작업은 ScratchSpace 가 즉시 삭제) ──
     @Scheduled(cron = "0 20 * * * *")
     public void cleanTmpDirs() {
-        Path base = Paths.get(TMP_BASE_DIR);
-        if (!Files.exists(base)) return;
-
-        long threshold = System.currentTimeMillis() - TMP_MAX_AGE_H * 3600_000L;
-        int[] counts = {0, 0};
-
-        try (DirectoryStream<Path> stream = Files.newDirectoryStream(base)) {
-            for (Path dir : stream) {
-                if (!Files.isDirectory(dir)) continue;
-                try {
-                    BasicFileAttributes attrs = Files.readAttributes(dir, BasicFileAttributes.class);
-                    if (attrs.lastModifiedTime().toMillis() < threshold) {
-                        deleteRecursively(dir);
-                        counts[0]++;
-                        log.info("[TmpClean] 삭제: {}", dir);
-                    } else {
-                        counts[1]++;
-                    }
-                } catch (IOException e) {
-                    log.warn("[TmpClean] 실패: {} - {}", dir, e.getMessage());
-                }
-            }
-        } catch (IOException e) {
-            log.warn("[TmpClean] 디렉터리 순회 실패: {}", e.getMessage());
-            return;
-        }
-
-        if (counts[0] > 0)
-            log.info("[TmpClean] 완료 - 삭제: {}개, 유지: {}개", counts[0], counts[1]);
+        int deleted = scratchSpace.sweepOrphans();
+        if (deleted > 0)
+            log.info("[TmpClean] 완료 - 잔재 삭제: {}개", deleted);
     }
 
     // ── PROCESSING stuck 감지 & 자동재시도 — 매 10분 ──────────────────────
@@ -140,8 +107,8 @@ public class OrderScheduler {
     }
 
     // ── 일별 퍼널 집계 — 매일 01:05 ──────────────────────────────────────
+    // 조회는 AnalyticsQueryService(readOnly → replica), 저장은 트랜잭션 밖 primary
     @Scheduled(cron = "0 5 1 * * *")
-    @Transactional
     public void aggregateDailyFunnel() {
         LocalDate yesterday = LocalDate.now().minusDays(1);
         LocalDateTime from = yesterday.atStartOfDay();
@@ -149,15 +116,8 @@ public class OrderScheduler {
 
         log.info("일별 퍼널 집계 시작 - date: {}", yesterday);
 
-        // order_events에서 이벤트 타입별 카운트
-        List<Object[]> eventCounts = orderEventRepository.countByEventTypeGrouped(from, to);
-        Map<String, Long> countMap = eventCounts.stream()
-                .collect(Collectors.toMap(
-                        row -> (String) row[0],
-                        row -> (Long) row[1]
-                ));
-
-        long revenue = orderRepository.sumRevenueInRange(from, to);
+        AnalyticsQueryService.DailyFunnel funnel = analyticsQueryService.dailyFunnel(from, to);
+        Map<String, Long> countMap = funnel.eventCounts();
 
         jdbcTemplate.update(
                 "INSERT INTO daily_funnel_metrics " +
@@ -177,7 +137,7 @@ public class OrderScheduler {
                 countMap.getOrDefault("gen_start", 0L),
                 countMap.getOrDefault("gen_complete", 0L),
                 countMap.getOrDefault("gen_fail", 0L),
-                revenue
+                funnel.revenue()
         );
 
         log.info("일별 퍼널 집계 완료 - date: {}, events: {}", yesterday, countMap);
@@ -185,34 +145,13 @@ public class OrderScheduler {
 
     // ── 시간별 SLA 집계 — 매시 10분 ──────────────────────────────────────
     @Scheduled(cron = "0 10 * * * *")
-    @Transactional
     public void aggregateHourlySla() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime hourStart = now.withMinute(0).withSecond(0).withNano(0).minusHours(1);
         LocalDateTime hourEnd   = hourStart.plusHours(1);
 
-        List<Order> completed = orderRepository.findCompletedInRange(hourStart, hourEnd);
-        long failCount  = orderRepository.countFailedInRange(hourStart, hourEnd);
-        long retryCount = orderRepository.sumRetryCountInRange(hourStart, hourEnd);
-
-        if (completed.isEmpty() && failCount == 0) return;
-
-        // genMinutes 통계 계산
-        List<BigDecimal> minutes = completed.stream()
-                .map(Order::getGenMinutes)
-                .filter(Objects::nonNull)
-                .sorted()
-                .collect(Collectors.toList());
-
-        BigDecimal avgMin = null, maxMin = null, p95Min = null;
-        if (!minutes.isEmpty()) {
-            avgMin = minutes.stream()
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(minutes.size()), 2, java.math.RoundingMode.HALF_UP);
-            maxMin = minutes.get(minutes.size() - 1);
-            int p95Idx = (int) Math.ceil(minutes.size() * 0.95) - 1;
-            p95Min = minutes.get(Math.max(0, p95Idx));
-        }
+        AnalyticsQueryService.HourlySla sla = analyticsQueryService.hourlySla(hourStart, hourEnd);
+        if (sla.genCount() == 0 && sla.failCount() == 0) return;
 
         jdbcTemplate.update(
                 "INSERT INTO hourly_sla_metrics " +
@@ -224,28 +163,12 @@ public class OrderScheduler {
                 "max_gen_minutes=VALUES(max_gen_minutes), p95_gen_minutes=VALUES(p95_gen_minutes), " +
                 "fail_count=VALUES(fail_count), retry_count=VALUES(retry_count)",
                 hourStart,
-                completed.size(),
-                avgMin, maxMin, p95Min,
-                failCount, retryCount
+                sla.genCount(),
+                sla.avgGenMinutes(), sla.maxGenMinutes(), sla.p95GenMinutes(),
+                sla.failCount(), sla.retryCount()
         );
 
         log.info("시간별 SLA 집계 완료 - hour: {}, completed: {}, failed: {}, avgMin: {}",
-                hourStart, completed.size(), failCount, avgMin);
-    }
-
-    private void deleteRecursively(Path dir) throws IOException {
-        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes a) throws IOException {
-                Files.delete(file);
-                return FileVisitResult.CONTINUE;
-            }
-            @Override
-            public FileVisitResult postVisitDirectory(Path d, IOException e) throws IOException {
-                if (e != null) throw e;
-                Files.delete(d);
-                return FileVisitResult.CONTINUE;
-            }
-        });
+                hourStart, sla.genCount(), sla.failCount(), sla.avgGenMinutes());
     }
 }
@@ -2,22 +2,28 @@ package com.anniversary.video.service;
 
 import com.anniversary.video.domain.Order;
 import com.anniversary.video.domain.OrderPhoto;
+import com.anniversary.video.dto.AdminOrderRow;
 import com.anniversary.video.dto.OrderCreateRequest;
 import com.anniversary.video.dto.OrderCreateResponse;
 import com.anniversary.video.repository.OrderPhotoRepository;
 import com.anniversary.video.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +35,8 @@ public class OrderService {
     private final OrderPhotoRepository orderPhotoRepository;
     private final S3Service s3Service;
     private final EventLoggingService eventLoggingService;
+    private final PhotoIngestService photoIngestService;
+    private final OrderStatusCache orderStatusCache;
 
     // ── 주문 생성 (Rate Limit + 이어하기 감지) ────────────────────────────
     @Transactional
@@ -93,10 +101,11 @@ public class OrderService {
         List<S3Service.PresignedUploadInfo> uploadInfos =
                 s3Service.generateUploadUrls(saved.getId(), request.getPhotoCount());
 
-        for (S3Service.PresignedUploadInfo info : uploadInfos) {
-            orderPhotoRepository.save(OrderPhoto.builder()
-                    .order(saved).s3Key(info.s3Key()).sortOrder(info.index()).build());
-        }
+        // 사진 슬롯 — 커밋 시 주문과 함께 배치 INSERT (ID 는 풀링 시퀀스에서 미리 받음)
+        orderPhotoRepository.saveAll(uploadInfos.stream()
+                .map(info -> OrderPhoto.builder()
+                        .order(saved).s3Key(info.s3Key()).sortOrder(info.index()).build())
+                .collect(Collectors.toList()));
 
         List<OrderCreateResponse.PresignedUrlInfo> presignedUrlInfos = uploadInfos.stream()
                 .map(i -> OrderCreateResponse.PresignedUrlInfo.builder()
@@ -113,47 +122,73 @@ public class OrderService {
     }
 
     // ── 사진 업로드 완료 처리 (컨트롤러에서 이동) ──────────────────────────
-    @Transactional
-    public int handleUploadComplete(Long orderId, Map<String, Object> body) {
-        Order order = findById(orderId);
 
-        if (order.getStatus() != Order.OrderStatus.PAID) {
-            throw new IllegalStateException(
-                    "결제 완료 상태의 주문만 업로드 완료 처리가 가능합니다. 현재 상태: " + order.getStatus());
+    /**
+     * 업로드 완료 1단계 (트랜잭션 밖) — 원본을 한 번 내려받아 디코딩하고 정규화본 저장 + dHash 계산.
+     * 오래 걸리므로 DB 연결·주문 행을 잡지 않은 상태에서 수행하고, 결과를 handleUploadComplete 에 넘김.
+     * 중복 확인 재요청(confirmDuplicates=true)이면 키가 그대로인 사진은 저장된 해시·정규화본을 재사용.
+     */
+    public Map<String, PhotoIngestService.Ingested> ingestUploadedPhotos(Long orderId, Map<String, Object> body) {
+        requirePaid(findById(orderId));
+        List<UploadedPhoto> uploaded = uploadedPhotos(body);
+
+        Map<String, PhotoIngestService.Ingested> ingested = new HashMap<>();
+        if (Boolean.TRUE.equals(body.get("confirmDuplicates"))) {
+            for (OrderPhoto photo : orderPhotoRepository.findByOrderIdOrderBySortOrder(orderId)) {
+                if (photo.getS3Key() != null && photo.getPhotoHash() != null) {
+                    ingested.put(photo.getS3Key(),
+                            new PhotoIngestService.Ingested(photo.getPhotoHash(), photo.getNormalizedS3Key()));
+                }
+            }
         }
+        List<String> missing = uploaded.stream()
+                .map(UploadedPhoto::s3Key)
+                .filter(key -> key != null && !ingested.containsKey(key))
+                .distinct()
+                .collect(Collectors.toList());
+        ingested.putAll(photoIngestService.ingest(orderId, missing));
+        return ingested;
+    }
 
-        @SuppressWarnings("unchecked")
-        List<Map<String, String>> photoList = (List<Map<String, String>>) body.get("photos");
-        @SuppressWarnings("unchecked")
-        List<String> s3Keys = (List<String>) body.get("s3Keys");
+    /** 업로드 완료 2단계 — 사진 행 차등 반영 + 중복 판정 (ingested 는 ingestUploadedPhotos 결과) */
+    @Transactional
+    public UploadCompleteResult handleUploadComplete(Long orderId, Map<String, Object> body,
+                                                     Map<String, PhotoIngestService.Ingested> ingested) {
+        Order order = findById(orderId);
+        requirePaid(order);
+        List<UploadedPhoto> uploaded = uploadedPhotos(body);
 
-        if ((photoList == null || photoList.isEmpty()) && (s3Keys == null || s3Keys.isEmpty())) {
-            throw new IllegalArgumentException("업로드된 사진 정보가 없습니다.");
+        // OrderPhoto 차등 반영 — 같은 sortOrder 는 수정, 늘어난 슬롯은 추가, 줄어든 슬롯만 삭제
+        List<OrderPhoto> existing = orderPhotoRepository.findByOrderIdOrderBySortOrder(orderId);
+        Map<Integer, OrderPhoto> bySortOrder = existing.stream()
+                .collect(Collectors.toMap(OrderPhoto::getSortOrder, p -> p, (a, b) -> a));
+        List<OrderPhoto> photos = new ArrayList<>(uploaded.size());
+        for (int i = 0; i < uploaded.size(); i++) {
+            OrderPhoto photo = bySortOrder.containsKey(i)
+                    ? bySortOrder.get(i)
+                    : OrderPhoto.builder().order(order).sortOrder(i).build();
+            photo.setS3Key(uploaded.get(i).s3Key());
+            photo.setCaption(uploaded.get(i).caption());
+            // 같은 키에 다시 올렸을 수 있으므로 파생 값은 이번 요청에서 처리(또는 재사용)한 값으로 교체
+            PhotoIngestService.Ingested result = ingested.get(photo.getS3Key());
+            photo.setNormalizedS3Key(result != null ? result.normalizedS3Key() : null);
+            photo.setPhotoHash(result != null ? result.photoHash() : null);
+            photo.setClipS3Key(null);
+            photos.add(photo);
         }
+        List<OrderPhoto> removed = existing.stream()
+                .filter(p -> !photos.contains(p))
+                .collect(Collectors.toList());
+        if (!removed.isEmpty()) orderPhotoRepository.deleteAll(removed);
 
-        // 기존 OrderPhoto 삭제
-        List<OrderPhoto> existing = orderPhotoRepository.findByOrderIdOrderBySortOrder(orderId);
-        if (!existing.isEmpty()) orderPhotoRepository.deleteAll(existing);
+        // 중복/연사 사진 감지 — 고객 확인 전에는 제작을 시작하지 않음
+        List<PhotoIngestService.DuplicatePhoto> duplicates = PhotoIngestService.findNearDuplicates(photos);
+        boolean needsConfirmation = !duplicates.isEmpty()
+                && !Boolean.TRUE.equals(body.get("confirmDuplicates"));
 
-        // OrderPhoto 저장
-        List<OrderPhoto> photos = new ArrayList<>();
-        if (photoList != null && !photoList.isEmpty()) {
-            for (int i = 0; i < photoList.size(); i++) {
-                photos.add(OrderPhoto.builder()
-                        .order(order)
-                        .s3Key(photoList.get(i).get("s3Key"))
-                        .caption(photoList.get(i).get("caption"))
-                        .sortOrder(i)
-                        .build());
-            }
-        } else {
-            for (int i = 0; i < s3Keys.size(); i++) {
-                photos.add(OrderPhoto.builder()
-                        .order(order).s3Key(s3Keys.get(i)).sortOrder(i).build());
-            }
-        }
         orderPhotoRepository.saveAll(photos);
-        log.info("OrderPhoto 저장 완료 - orderId: {}, count: {}", orderId, photos.size());
+        log.info("OrderPhoto 저장 완료 - orderId: {}, count: {}, duplicates: {}",
+                orderId, photos.size(), duplicates.size());
 
         // BGM 선택값 업데이트
         String bgmTrack = (String) body.get("bgmTrack");
@@ -176,12 +211,47 @@ public class OrderService {
 
         orderRepository.save(order);
 
-        eventLoggingService.log(orderId, "upload_complete",
-                String.format("{\"photoCount\":%d}", photos.size()));
+        if (!needsConfirmation) {
+            eventLoggingService.log(orderId, "upload_complete",
+                    String.format("{\"photoCount\":%d,\"duplicates\":%d}", photos.size(), duplicates.size()));
+        }
 
-        return photos.size();
+        return new UploadCompleteResult(photos.size(), duplicates, needsConfirmation);
     }
 
+    private static void requirePaid(Order order) {
+        if (order.getStatus() != Order.OrderStatus.PAID) {
+            throw new IllegalStateException(
+                    "결제 완료 상태의 주문만 업로드 완료 처리가 가능합니다. 현재 상태: " + order.getStatus());
+        }
+    }
+
+    /** 요청 본문의 사진 목록 — photos[{s3Key, caption}] 또는 s3Keys[] (sortOrder 순) */
+    private static List<UploadedPhoto> uploadedPhotos(Map<String, Object> body) {
+        @SuppressWarnings("unchecked")
+        List<Map<String, String>> photoList = (List<Map<String, String>>) body.get("photos");
+        @SuppressWarnings("unchecked")
+        List<String> s3Keys = (List<String>) body.get("s3Keys");
+
+        if (photoList != null && !photoList.isEmpty()) {
+            return photoList.stream()
+                    .map(p -> new UploadedPhoto(p.get("s3Key"), p.get("caption")))
+                    .collect(Collectors.toList());
+        }
+        if (s3Keys != null && !s3Keys.isEmpty()) {
+            return s3Keys.stream().map(key -> new UploadedPhoto(key, null)).collect(Collectors.toList());
+        }
+        throw new IllegalArgumentException("업로드된 사진 정보가 없습니다.");
+    }
+
+    private record UploadedPhoto(String s3Key, String caption) {}
+
+    /** needsConfirmation=true면 중복 사진 확인 후 confirmDuplicates=true로 재요청해야 제작 시작 */
+    public record UploadCompleteResult(
+            int photoCount,
+            List<PhotoIngestService.DuplicatePhoto> duplicates,
+            boolean needsConfirmation) {}
+
     // ── 다운로드 URL 재발급 ───────────────────────────────────────────────
     @Transactional
     public String refreshDownloadUrl(Long orderId) {
@@ -192,14 +262,25 @@ public class OrderService {
         if (order.getS3OutputPath() == null) {
             throw new IllegalStateException("S3 결과 파일이 없습니다: " + orderId);
         }
-        String newUrl = s3Service.generateDownloadUrl(order.getS3OutputPath());
+        SignedUrlCache.SignedUrl link = s3Service.generateDownloadLink(order.getS3OutputPath());
+        String newUrl = link.url();
         order.setDownloadUrl(newUrl);
-        order.setDownloadExpiresAt(LocalDateTime.now().plusHours(72));
+        order.setDownloadExpiresAt(LocalDateTime.ofInstant(link.expiresAt(), ZoneId.systemDefault()));
+        signVariantUrls(order);
         orderRepository.save(order);
+        orderStatusCache.evictAfterCommit(order.getAccessToken());
         log.info("다운로드 URL 재발급 - orderId: {}", orderId);
         return newUrl;
     }
 
+    /** 세로/공유용 링크 — 메인 링크와 같은 시점에 서명해서 주문에 저장 */
+    private void signVariantUrls(Order order) {
+        order.setVerticalDownloadUrl(order.getS3VerticalPath() != null
+                ? s3Service.generateDownloadUrl(order.getS3VerticalPath()) : null);
+        order.setShareDownloadUrl(order.getS3SharePath() != null
+                ? s3Service.generateDownloadUrl(order.getS3SharePath()) : null);
+    }
+
     @Transactional
     public Order markAsPaid(Long orderId, String paymentKey) {
         Order order = findById(orderId);
@@ -211,10 +292,26 @@ public class OrderService {
 
     @Transactional
     public Order markAsCompleted(Long orderId, String s3OutputPath, String downloadUrl) {
+        return markAsCompleted(orderId, new FfmpegService.RenderOutputs(s3OutputPath, null, null, null, null), downloadUrl);
+    }
+
+    @Transactional
+    public Order markAsCompleted(Long orderId, FfmpegService.RenderOutputs outputs, String downloadUrl) {
+        String s3OutputPath = outputs.master();
         Order order = findById(orderId);
         order.setS3OutputPath(s3OutputPath);
+        order.setS3VerticalPath(outputs.vertical());
+        order.setS3SharePath(outputs.share());
+        order.setS3HlsPath(outputs.hls());
+        if (outputs.previews() != null) {
+            order.setS3PosterPath(outputs.previews().poster());
+            order.setS3TeaserPath(outputs.previews().teaser());
+            order.setS3SpritePath(outputs.previews().sprite());
+            order.setS3SpriteVttPath(outputs.previews().spriteVtt());
+        }
         order.setDownloadUrl(downloadUrl);
         order.setDownloadExpiresAt(LocalDateTime.now().plusHours(72));
+        signVariantUrls(order);
         order.setGenCompletedAt(LocalDateTime.now());
 
         // gen_minutes 계산
@@ -286,12 +383,55 @@ public class OrderService {
                 .orElseThrow(() -> new IllegalArgumentException("유효하지 않은 접근입니다."));
     }
 
+    /** 상태 외 필드 수정용 — 상태 조회 캐시도 커밋 후 무효화 */
     @Transactional
     public Order save(Order order) {
+        orderStatusCache.evictAfterCommit(order.getAccessToken());
         return orderRepository.save(order);
     }
 
-    public List<Order> findAll() {
-        return orderRepository.findAllByOrderByCreatedAtDesc();
+    /** 웹훅용 — idx_payment_key 단건 조회 */
+    public Optional<Order> findByPaymentKey(String paymentKey) {
+        return orderRepository.findByPaymentKey(paymentKey);
     }
+
+    // ── 관리자 목록 (키셋 페이지) ─────────────────────────────────────────
+    /**
+     * 최신순 한 페이지. cursor 는 이전 페이지의 nextCursor ("{createdAt}_{id}"), 첫 페이지는 null.
+     * from/to 는 생성일 기준 (to 포함), 전화번호는 숫자만 비교.
+     */
+    @Transactional(readOnly = true)
+    public AdminOrderPage findAdminPage(Order.OrderStatus status, String phone,
+                                        LocalDate from, LocalDate to, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, 200));
+        LocalDateTime cursorCreatedAt = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int sep = cursor.lastIndexOf('_');
+            try {
+                cursorCreatedAt = LocalDateTime.parse(cursor.substring(0, sep));
+                cursorId = Long.parseLong(cursor.substring(sep + 1));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 커서: " + cursor);
+            }
+        }
+        String phoneDigits = phone != null ? phone.replaceAll("\\D", "") : "";
+
+        // 한 건 더 읽어 다음 페이지 유무 판단 (COUNT 쿼리 없음)
+        List<AdminOrderRow> rows = orderRepository.findAdminPage(
+                status,
+                phoneDigits.isEmpty() ? null : phoneDigits,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                cursorCreatedAt, cursorId,
+                PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) {
+            return new AdminOrderPage(rows, null);
+        }
+        List<AdminOrderRow> page = rows.subList(0, limit);
+        AdminOrderRow last = page.get(limit - 1);
+        return new AdminOrderPage(page, last.getCreatedAt() + "_" + last.getId());
+    }
+
+    public record AdminOrderPage(List<AdminOrderRow> items, String nextCursor) {}
 }
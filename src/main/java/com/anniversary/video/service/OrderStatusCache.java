@@ -0,0 +1,111 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.OrderStatusChanged;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 주문 상태 응답 캐시 (accessToken → 응답 본문 + ETag, LRU·항목 수 제한).
+ * status.html 30초 폴링이 DB 를 치지 않도록 — 상태 전이(OrderStatusChanged, 커밋 후)와
+ * 다운로드 URL 변경 시 무효화, 그 외 필드 변경·presigned URL 갱신은 ttl 로 반영.
+ * 로드 중 무효화가 끼면 결과를 저장하지 않음 (커밋 전 값이 남지 않도록).
+ */
+@Service
+public class OrderStatusCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Map<String, StatusView> entries;
+    /** 무효화 횟수 — 로드 시작 후 바뀌었으면 저장 생략 */
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public OrderStatusCache(
+            @Value("${order.status-cache.max-entries:5000}") int maxEntries,
+            @Value("${order.status-cache.ttl:5m}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StatusView> eldest) {
+                return size() > OrderStatusCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** loader: 미스 시 DB 조회 + 응답 구성 */
+    public StatusView get(String accessToken, Supplier<StatusView> loader) {
+        Instant now = Instant.now();
+        synchronized (entries) {
+            StatusView cached = entries.get(accessToken);
+            if (cached != null && cached.cachedAt().plus(ttl).isAfter(now)) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        long gen = generation.get();
+        StatusView view = loader.get();
+        if (maxEntries > 0) {
+            synchronized (entries) {
+                if (generation.get() == gen) entries.put(accessToken, view);
+            }
+        }
+        return view;
+    }
+
+    /** 상태 전이 커밋 후 무효화 (트랜잭션 밖 save 는 즉시) — SSE 알림보다 먼저 */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusChanged(OrderStatusChanged event) {
+        evict(event.order().getAccessToken());
+    }
+
+    /** 진행 중인 트랜잭션이 있으면 커밋 후, 없으면 즉시 무효화 */
+    public void evictAfterCommit(String accessToken) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(accessToken);
+                }
+            });
+        } else {
+            evict(accessToken);
+        }
+    }
+
+    public void evict(String accessToken) {
+        if (accessToken == null) return;
+        synchronized (entries) {
+            generation.incrementAndGet();
+            entries.remove(accessToken);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (entries) {
+            result.put("entries", entries.size());
+        }
+        result.put("hits", hits.get());
+        result.put("misses", misses.get());
+        return result;
+    }
+
+    /** 응답 본문 + 조건부 요청용 ETag/Last-Modified */
+    public record StatusView(Map<String, Object> body, String etag, Instant lastModified, Instant cachedAt) {}
+}
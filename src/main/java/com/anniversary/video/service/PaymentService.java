@@ -11,7 +11,6 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -122,24 +121,18 @@ public class PaymentService {
 
         if (!"Transaction.Paid".equals(type) || paymentId == null) return;
 
-        // paymentKey로 주문 찾기 — OrderService를 통해 조회
+        // paymentKey로 주문 찾기 (idx_payment_key)
         // 웹훅은 confirmPayment 이후 도착하므로 paymentKey가 이미 세팅된 상태
-        try {
-            List<Order> allOrders = orderService.findAll();
-            allOrders.stream()
-                    .filter(o -> paymentId.equals(o.getPaymentKey())
-                            && o.getStatus() == Order.OrderStatus.PENDING)
-                    .findFirst()
-                    .ifPresent(order -> {
-                        Order paid = orderService.markAsPaid(order.getId(), paymentId);
-                        notificationService.sendOrderConfirmation(paid);
-                        eventLoggingService.log(order.getId(), "pay_success",
-                                "{\"source\":\"webhook\"}");
-                        log.info("웹훅 결제 완료 처리 - orderId: {}", order.getId());
-                    });
-        } catch (Exception e) {
-            log.error("웹훅 처리 실패 - paymentId: {}, error: {}", paymentId, e.getMessage());
-        }
+        // 예외는 그대로 던짐 — PaymentWebhookService 가 재시도
+        orderService.findByPaymentKey(paymentId)
+                .filter(o -> o.getStatus() == Order.OrderStatus.PENDING)
+                .ifPresent(order -> {
+                    Order paid = orderService.markAsPaid(order.getId(), paymentId);
+                    notificationService.sendOrderConfirmation(paid);
+                    eventLoggingService.log(order.getId(), "pay_success",
+                            "{\"source\":\"webhook\"}");
+                    log.info("웹훅 결제 완료 처리 - orderId: {}", order.getId());
+                });
     }
 
     private WebClient buildPortoneClient() {
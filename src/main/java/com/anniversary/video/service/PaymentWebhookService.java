@@ -0,0 +1,162 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.WebhookReceipt;
+import com.anniversary.video.repository.WebhookReceiptRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 포트원 웹훅 수신함 — webhook-id 로 중복 제거 후 비동기 처리.
+ * 수신 기록(본문 포함 INSERT, PK 중복이면 이미 받은 웹훅)만 요청 스레드에서 하고 바로 200.
+ * 200 을 받은 웹훅은 포트원이 재전송하지 않으므로, 처리 실패·재시작으로 멈춘 건은 기록을 남겨 두고
+ * 스케줄러(retryDue)가 저장된 본문으로 재시도 — 실패는 지수 백오프, MAX_ATTEMPTS 회 실패하면 관리자 알림 후 중단.
+ * 처리 중인 기록은 LEASE 동안 임대(next_attempt_at) — 그 안에 끝나지 않으면(재시작 등) 스케줄러가 가져감.
+ */
+@Service
+@Slf4j
+public class PaymentWebhookService {
+
+    static final int MAX_ATTEMPTS = 10;
+    private static final Duration LEASE = Duration.ofMinutes(10);
+    private static final Duration FIRST_BACKOFF = Duration.ofSeconds(30);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+    private static final int SWEEP_BATCH = 50;
+
+    private final WebhookReceiptRepository receiptRepository;
+    private final PaymentService paymentService;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final Executor webhookExecutor;
+    private final Duration retention;
+
+    public PaymentWebhookService(
+            WebhookReceiptRepository receiptRepository,
+            PaymentService paymentService,
+            NotificationService notificationService,
+            ObjectMapper objectMapper,
+            @Qualifier("webhookExecutor") Executor webhookExecutor,
+            @Value("${portone.webhook-dedupe-retention:7d}") Duration retention) {
+        this.receiptRepository = receiptRepository;
+        this.paymentService = paymentService;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+        this.webhookExecutor = webhookExecutor;
+        this.retention = retention;
+    }
+
+    /**
+     * 수신 기록 + 처리 예약 — false 면 이미 받은(처리 완료 또는 처리 중) 웹훅.
+     * true 를 돌려준 뒤에는 기록이 DB 에 있으므로 처리 결과와 무관하게 200 응답 가능.
+     */
+    public boolean receive(String webhookId, Map<String, Object> payload) {
+        String id = dedupeKey(webhookId, payload);
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            receiptRepository.insert(id, now, toJson(payload), now.plus(LEASE));
+        } catch (DataIntegrityViolationException e) {
+            // 재시도 대기 중인 건의 재전송이면 지금 처리, 아니면 중복
+            if (receiptRepository.claim(id, now, now.plus(LEASE)) != 1) {
+                log.info("중복 웹훅 무시 - webhook-id: {}", id);
+                return false;
+            }
+        }
+        submit(id);
+        return true;
+    }
+
+    /** webhook-id 헤더가 없으면(시크릿 미설정 환경) type:paymentId 로 대체 */
+    static String dedupeKey(String webhookId, Map<String, Object> payload) {
+        if (webhookId != null && !webhookId.isBlank()) return webhookId;
+        return payload.get("type") + ":" + payload.get("paymentId");
+    }
+
+    /** 처리 실패·재시작으로 남은 기록 재시도 (30초마다) — 임대에 성공한 건만 */
+    @Scheduled(fixedDelay = 30_000, initialDelay = 30_000)
+    public void retryDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> due = receiptRepository.findDueIds(now, PageRequest.of(0, SWEEP_BATCH));
+        for (String id : due) {
+            if (receiptRepository.claim(id, now, now.plus(LEASE)) == 1) {
+                log.info("웹훅 재처리 - webhook-id: {}", id);
+                submit(id);
+            }
+        }
+    }
+
+    private void submit(String id) {
+        try {
+            webhookExecutor.execute(() -> process(id));
+        } catch (RejectedExecutionException e) {
+            // 실행 큐 포화 — 기록은 남아 있으므로 임대를 풀고 다음 스케줄에 처리
+            log.warn("웹훅 처리 큐 포화 — 스케줄러 재시도로 넘김 - webhook-id: {}", id);
+            receiptRepository.reschedule(id, LocalDateTime.now());
+        }
+    }
+
+    void process(String id) {
+        WebhookReceipt receipt = receiptRepository.findById(id).orElse(null);
+        if (receipt == null || receipt.getProcessedAt() != null) return;
+        try {
+            paymentService.handleWebhook(fromJson(receipt.getPayload()));
+            receiptRepository.markProcessed(id, LocalDateTime.now());
+        } catch (Exception e) {
+            int attempts = receipt.getAttempts() + 1;
+            String error = truncate(e.getClass().getSimpleName() + ": " + e.getMessage());
+            if (attempts >= MAX_ATTEMPTS) {
+                log.error("웹훅 처리 최종 실패 ({}회) — 관리자 확인 필요 - webhook-id: {}, error: {}",
+                        attempts, id, error);
+                receiptRepository.markFailed(id, null, error);
+                notificationService.sendWebhookFailureAlert(id, attempts, error);
+                return;
+            }
+            LocalDateTime next = LocalDateTime.now().plus(backoff(attempts));
+            log.warn("웹훅 처리 실패 ({}/{}) — {} 재시도 - webhook-id: {}, error: {}",
+                    attempts, MAX_ATTEMPTS, next, id, error);
+            receiptRepository.markFailed(id, next, error);
+        }
+    }
+
+    /** 30초부터 두 배씩, 최대 1시간 */
+    static Duration backoff(int attempts) {
+        Duration delay = FIRST_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : delay;
+    }
+
+    /** 보관 기간 지난 수신 기록 삭제 (매시 40분) — 재시도 대기 중인 건은 남김 */
+    @Scheduled(cron = "0 40 * * * *")
+    public void purgeExpired() {
+        int deleted = receiptRepository.deleteReceivedBefore(LocalDateTime.now().minus(retention));
+        if (deleted > 0) log.info("웹훅 수신 기록 정리 - {}건", deleted);
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("웹훅 본문 직렬화 실패", e);
+        }
+    }
+
+    private Map<String, Object> fromJson(String json) throws JsonProcessingException {
+        return objectMapper.readValue(json, new TypeReference<>() {});
+    }
+
+    private static String truncate(String text) {
+        return text.length() > 500 ? text.substring(0, 500) : text;
+    }
+}
@@ -0,0 +1,355 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.OrderPhoto;
+import com.anniversary.video.repository.OrderPhotoRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 업로드 사진 정규화 — 업로드 완료 시점(ingest)에 원본당 1회만 다운로드·디코딩해서
+ * EXIF 회전 적용 → 720p 기준 축소 → JPEG 재인코딩 → 파생 S3 키에 저장, 같은 이미지로 dHash 계산.
+ * 제작 단계(normalizeAll)는 ingest 에서 빠진 사진(실패·이전 주문)만 다시 처리.
+ * 정규화 실패 시 원본 s3Key를 그대로 사용 (생성 자체는 막지 않음).
+ */
+@Service
+@Slf4j
+public class PhotoIngestService {
+
+    /** grok-imagine-video 720p 기준 긴 변 최대 픽셀 */
+    static final int TARGET_LONG_EDGE = 1280;
+    static final float JPEG_QUALITY = 0.85f;
+
+    /** dHash 64비트 중 이 값 이하로 다르면 거의 같은 사진 (연사, 중복 선택) */
+    static final int DUPLICATE_MAX_DISTANCE = 10;
+
+    private final S3Service s3Service;
+    private final OrderPhotoRepository orderPhotoRepository;
+    private final Executor photoIngestExecutor;
+
+    public PhotoIngestService(
+            S3Service s3Service,
+            OrderPhotoRepository orderPhotoRepository,
+            @Qualifier("photoIngestExecutor") Executor photoIngestExecutor) {
+        this.s3Service            = s3Service;
+        this.orderPhotoRepository = orderPhotoRepository;
+        this.photoIngestExecutor  = photoIngestExecutor;
+    }
+
+    // ── 주문 단위 병렬 정규화 (이미 정규화된 사진은 건너뜀) ────────────────
+    public void normalizeAll(Long orderId, List<OrderPhoto> photos) {
+        List<OrderPhoto> targets = photos.stream()
+                .filter(p -> p.getS3Key() != null && p.getNormalizedS3Key() == null)
+                .collect(Collectors.toList());
+        if (targets.isEmpty()) return;
+
+        AtomicInteger normalized = new AtomicInteger(0);
+        List<CompletableFuture<Void>> futures = targets.stream()
+                .map(photo -> CompletableFuture
+                        .supplyAsync(() -> normalizeQuietly(orderId, photo), photoIngestExecutor)
+                        .thenAccept(key -> {
+                            if (key == null) return;
+                            photo.setNormalizedS3Key(key);
+                            orderPhotoRepository.save(photo);
+                            normalized.incrementAndGet();
+                        }))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        log.info("사진 정규화 완료 - orderId: {}, {}/{}장", orderId, normalized.get(), targets.size());
+    }
+
+    // ── 업로드 시점 1회 처리: 다운로드 → 디코딩 → 정규화 저장 + dHash (병렬) ─────
+    /** s3Key → 처리 결과 (다운로드·디코딩 실패한 키는 빠짐) — DB 트랜잭션 밖에서 호출할 것 */
+    public Map<String, Ingested> ingest(Long orderId, List<String> s3Keys) {
+        Map<String, Ingested> results = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> futures = s3Keys.stream()
+                .map(key -> CompletableFuture
+                        .supplyAsync(() -> ingestQuietly(orderId, key), photoIngestExecutor)
+                        .thenAccept(result -> {
+                            if (result != null) results.put(key, result);
+                        }))
+                .collect(Collectors.toList());
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        log.info("사진 업로드 처리 완료 - orderId: {}, {}/{}장", orderId, results.size(), s3Keys.size());
+        return results;
+    }
+
+    private Ingested ingestQuietly(Long orderId, String s3Key) {
+        byte[] original;
+        BufferedImage oriented;
+        try {
+            original = s3Service.downloadBytes(s3Key);
+            oriented = decodeOriented(original);
+        } catch (Exception e) {
+            log.warn("사진 디코딩 실패 - orderId: {}, key: {}, error: {}", orderId, s3Key, e.getMessage());
+            return null;
+        }
+        String hash = dHash(oriented);
+        // 정규화본 저장 실패는 해시와 별개 — 제작 단계 normalizeAll 이 다시 시도
+        String normalizedKey = null;
+        try {
+            normalizedKey = upload(orderId, s3Key, original.length, oriented);
+        } catch (Exception e) {
+            log.warn("사진 정규화 저장 실패 - orderId: {}, key: {}, error: {}", orderId, s3Key, e.getMessage());
+        }
+        return new Ingested(hash, normalizedKey);
+    }
+
+    /** 업로드 처리 결과 — normalizedS3Key 가 null 이면 정규화본 없음(원본 사용 또는 제작 단계에서 재시도) */
+    public record Ingested(String photoHash, String normalizedS3Key) {}
+
+    /** 같은 주문 안에서 앞선 사진과 거의 같은 사진 목록 (sortOrder 기준) */
+    public static List<DuplicatePhoto> findNearDuplicates(List<OrderPhoto> photos) {
+        List<DuplicatePhoto> result = new ArrayList<>();
+        for (int i = 0; i < photos.size(); i++) {
+            String hash = photos.get(i).getPhotoHash();
+            if (hash == null) continue;
+            for (int j = 0; j < i; j++) {
+                String other = photos.get(j).getPhotoHash();
+                if (other == null) continue;
+                int distance = hammingDistance(hash, other);
+                if (distance <= DUPLICATE_MAX_DISTANCE) {
+                    result.add(new DuplicatePhoto(
+                            photos.get(i).getSortOrder(), photos.get(j).getSortOrder(), distance));
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** 원본 바이트에서 dHash — 64px 서브샘플링 디코딩이라 원본 해상도와 무관하게 가볍다 */
+    static String dHash(byte[] imageData) throws IOException {
+        return dHash(orientAndScale(decodeSubsampled(imageData, 64), readExifOrientation(imageData), 64));
+    }
+
+    /**
+     * dHash: 회전 적용된 이미지를 9x8 흑백으로 면적 평균 축소 후 가로 인접 픽셀 밝기 비교 → 64비트 (16자리 hex).
+     * 면적 평균이라 입력 해상도(64px 썸네일이든 1280px 정규화본이든)와 무관하게 같은 값에 가깝다.
+     */
+    static String dHash(BufferedImage oriented) {
+        BufferedImage gray = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = gray.createGraphics();
+        try {
+            g.drawImage(oriented.getScaledInstance(9, 8, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+
+        long bits = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int left  = gray.getRaster().getSample(x, y, 0);
+                int right = gray.getRaster().getSample(x + 1, y, 0);
+                bits = (bits << 1) | (left < right ? 1 : 0);
+            }
+        }
+        return String.format("%016x", bits);
+    }
+
+    static int hammingDistance(String hashA, String hashB) {
+        return Long.bitCount(Long.parseUnsignedLong(hashA, 16) ^ Long.parseUnsignedLong(hashB, 16));
+    }
+
+    public record DuplicatePhoto(int sortOrder, int duplicateOf, int distance) {}
+
+    private String normalizeQuietly(Long orderId, OrderPhoto photo) {
+        try {
+            return normalize(orderId, photo);
+        } catch (Exception e) {
+            log.warn("사진 정규화 실패, 원본 사용 - orderId: {}, sortOrder: {}, error: {}",
+                    orderId, photo.getSortOrder(), e.getMessage());
+            return null;
+        }
+    }
+
+    private String normalize(Long orderId, OrderPhoto photo) throws IOException {
+        byte[] original = s3Service.downloadBytes(photo.getS3Key());
+        return upload(orderId, photo.getS3Key(), original.length, decodeOriented(original));
+    }
+
+    /** 정규화 JPEG 저장 — 키는 원본 파일명 기준 (같은 원본 키 → 같은 정규화 키) */
+    private String upload(Long orderId, String s3Key, int originalBytes, BufferedImage oriented) throws IOException {
+        byte[] jpeg = encodeJpeg(oriented, JPEG_QUALITY);
+        String key = normalizedKey(orderId, s3Key);
+        s3Service.uploadBytes(jpeg, key, "image/jpeg");
+        log.info("사진 정규화 - key: {}, {}KB → {}KB", s3Key, originalBytes / 1024, jpeg.length / 1024);
+        return key;
+    }
+
+    static String normalizedKey(Long orderId, String s3Key) {
+        String name = s3Key.substring(s3Key.lastIndexOf('/') + 1);
+        int dot = name.lastIndexOf('.');
+        return "uploads/" + orderId + "/normalized/" + (dot > 0 ? name.substring(0, dot) : name) + ".jpg";
+    }
+
+    // ── 디코딩 → 회전 → 축소 → JPEG ────────────────────────────────────────
+    static byte[] normalizeImage(byte[] original) throws IOException {
+        return encodeJpeg(decodeOriented(original), JPEG_QUALITY);
+    }
+
+    /** 원본 → 회전 적용 + 긴 변 TARGET_LONG_EDGE 이하 (디코딩 1회) */
+    static BufferedImage decodeOriented(byte[] original) throws IOException {
+        int orientation = readExifOrientation(original);
+        return orientAndScale(decodeSubsampled(original, TARGET_LONG_EDGE), orientation, TARGET_LONG_EDGE);
+    }
+
+    /**
+     * 긴 변이 target 이상으로 남는 최대 정수 배율로 서브샘플링 디코딩.
+     * 12MP 원본을 풀 해상도로 올리지 않아 디코딩 버퍼가 1/4~1/9로 줄어든다.
+     */
+    static BufferedImage decodeSubsampled(byte[] data, int targetLongEdge) throws IOException {
+        try (ImageInputStream iis = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(iis);
+            if (!readers.hasNext()) throw new IOException("지원하지 않는 이미지 형식");
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(iis, true, true);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longEdge / targetLongEdge);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** EXIF 방향(1~8) 적용과 축소를 한 번의 그리기로 처리 */
+    static BufferedImage orientAndScale(BufferedImage src, int orientation, int targetLongEdge) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        boolean swap = orientation >= 5 && orientation <= 8;
+        int ow = swap ? h : w;
+        int oh = swap ? w : h;
+
+        double scale = Math.min(1.0, (double) targetLongEdge / Math.max(ow, oh));
+        int dw = Math.max(1, (int) Math.round(ow * scale));
+        int dh = Math.max(1, (int) Math.round(oh * scale));
+
+        AffineTransform tx = AffineTransform.getScaleInstance(scale, scale);
+        tx.concatenate(orientationTransform(orientation, w, h));
+
+        BufferedImage out = new BufferedImage(dw, dh, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, dw, dh);   // PNG 투명 영역 → 흰색
+            g.drawImage(src, tx, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    // AffineTransform(m00, m10, m01, m11, m02, m12): x' = m00*x + m01*y + m02, y' = m10*x + m11*y + m12
+    private static AffineTransform orientationTransform(int orientation, int w, int h) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);   // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);  // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);   // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);    // transpose
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);   // 시계 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);  // transverse
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);   // 반시계 90도
+            default -> new AffineTransform();
+        };
+    }
+
+    static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(bos)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * JPEG APP1(Exif) 세그먼트에서 Orientation(0x0112) 태그만 읽는다.
+     * JPEG이 아니거나 태그가 없으면 1(정방향).
+     */
+    static int readExifOrientation(byte[] d) {
+        if (d.length < 4 || (d[0] & 0xFF) != 0xFF || (d[1] & 0xFF) != 0xD8) return 1;
+        int pos = 2;
+        while (pos + 4 <= d.length) {
+            if ((d[pos] & 0xFF) != 0xFF) return 1;
+            int marker = d[pos + 1] & 0xFF;
+            if (marker == 0xDA || marker == 0xD9) return 1;   // SOS/EOI 이후엔 메타데이터 없음
+            int segLen = ((d[pos + 2] & 0xFF) << 8) | (d[pos + 3] & 0xFF);
+            int segStart = pos + 4;
+            if (marker == 0xE1 && segStart + 6 <= d.length
+                    && d[segStart] == 'E' && d[segStart + 1] == 'x'
+                    && d[segStart + 2] == 'i' && d[segStart + 3] == 'f') {
+                return readTiffOrientation(d, segStart + 6, Math.min(d.length, pos + 2 + segLen));
+            }
+            pos += 2 + segLen;
+        }
+        return 1;
+    }
+
+    private static int readTiffOrientation(byte[] d, int tiff, int end) {
+        if (tiff + 8 > end) return 1;
+        boolean le = d[tiff] == 'I' && d[tiff + 1] == 'I';
+        int ifd = tiff + readInt(d, tiff + 4, le);
+        if (ifd < tiff || ifd + 2 > end) return 1;
+        int entries = readShort(d, ifd, le);
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > end) return 1;
+            if (readShort(d, entry, le) == 0x0112) {
+                int value = readShort(d, entry + 8, le);
+                return (value >= 1 && value <= 8) ? value : 1;
+            }
+        }
+        return 1;
+    }
+
+    private static int readShort(byte[] d, int p, boolean le) {
+        return le ? (d[p] & 0xFF) | ((d[p + 1] & 0xFF) << 8)
+                  : ((d[p] & 0xFF) << 8) | (d[p + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] d, int p, boolean le) {
+        return le ? (d[p] & 0xFF) | ((d[p + 1] & 0xFF) << 8) | ((d[p + 2] & 0xFF) << 16) | ((d[p + 3] & 0xFF) << 24)
+                  : ((d[p] & 0xFF) << 24) | ((d[p + 1] & 0xFF) << 16) | ((d[p + 2] & 0xFF) << 8) | (d[p + 3] & 0xFF);
+    }
+}
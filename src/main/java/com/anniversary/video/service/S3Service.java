@@ -3,13 +3,6 @@ package com.anniversary.video.service;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
-import software.amazon.awssdk.services.s3.S3Client;
-import software.amazon.awssdk.services.s3.model.GetObjectRequest;
-import software.amazon.awssdk.services.s3.model.PutObjectRequest;
-import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
 import java.io.InputStream;
 import java.net.URL;
@@ -18,24 +11,45 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+/**
+ * 객체 저장소 파사드 — 실제 저장은 StorageBackend (기본 S3, local-storage 프로파일은 로컬 디스크).
+ * 클립 캐시(ClipCache) write-through / 캐시 우선 다운로드는 저장소와 무관하게 여기서 처리.
+ * 완성 영상 다운로드 URL 은 delivery.mode 에 따라 저장소 presigned GET(s3) 또는 CloudFront 서명 URL(cloudfront).
+ */
 @Service
 @Slf4j
 public class S3Service {
 
-    private final S3Client s3Client;
-    private final S3Presigner s3Presigner;
-
-    @Value("${aws.s3.bucket}")
-    private String bucket;
+    private final StorageBackend storage;
+    private final ClipCache clipCache;
+    private final CloudFrontSigner cloudFront;
+    private final boolean cdnDelivery;
+    /** 서명 URL 재사용 — (메서드, 키, 전달 방식) 단위, 업로드/상태 페이지 새로고침은 재서명 없음 */
+    private final SignedUrlCache signedUrls;
 
     @Value("${cloudfront.download-expire-hours:72}")
     private int downloadExpireHours;
 
-    public S3Service(S3Client s3Client, S3Presigner s3Presigner) {
-        this.s3Client = s3Client;
-        this.s3Presigner = s3Presigner;
+    private static final Duration UPLOAD_URL_TTL = Duration.ofMinutes(30);
+
+    public S3Service(StorageBackend storage, ClipCache clipCache, CloudFrontSigner cloudFront,
+                     @Value("${delivery.mode:s3}") String deliveryMode,
+                     @Value("${delivery.url-cache.max-entries:10000}") int urlCacheEntries,
+                     @Value("${delivery.url-cache.min-remaining:24h}") Duration urlCacheMinRemaining) {
+        this.storage = storage;
+        this.clipCache = clipCache;
+        this.cloudFront = cloudFront;
+        this.cdnDelivery = "cloudfront".equalsIgnoreCase(deliveryMode);
+        if (cdnDelivery && !cloudFront.isConfigured()) {
+            throw new IllegalStateException("delivery.mode=cloudfront 인데 CloudFront 서명 설정이 없습니다");
+        }
+        this.signedUrls = new SignedUrlCache(urlCacheEntries, urlCacheMinRemaining);
+        log.info("다운로드 전달 방식: {}", cdnDelivery ? "CloudFront 서명 URL" : "presigned GET");
     }
 
     // ── 사진 업로드용 Presigned PUT URL 생성 ──────────────────────────────
@@ -46,32 +60,43 @@ public class S3Service {
     public List<PresignedUploadInfo> generateUploadUrls(Long orderId, int photoCount, String contentType) {
         List<PresignedUploadInfo> result = new ArrayList<>();
         for (int i = 0; i < photoCount; i++) {
-            // s3Key는 .jpg 고정 (RunwayML은 확장자 무관, 실제 바이트만 읽음)
-            String s3Key = "uploads/" + orderId + "/photo_" + String.format("%02d", i) + ".jpg";
-            // Content-Type 미지정 → presigned URL에 서명 포함 안 됨
-            // 프론트에서 파일 타입에 맞는 헤더를 자유롭게 보낼 수 있음
-            PutObjectRequest putReq = PutObjectRequest.builder()
-                    .bucket(bucket).key(s3Key).build();
-            PutObjectPresignRequest presignReq = PutObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofMinutes(30))
-                    .putObjectRequest(putReq).build();
-            String url = s3Presigner.presignPutObject(presignReq).url().toString();
-            result.add(new PresignedUploadInfo(i, url, s3Key));
+            result.add(generateUploadUrl(orderId, i));
         }
         return result;
     }
 
-    // ── 다운로드 Presigned GET URL 생성 ───────────────────────────────────
+    /** 사진 슬롯 하나 — 만료 여유가 남은 URL 은 캐시에서 재사용 (TTL 30분 → 15분 이상 남은 것만) */
+    public PresignedUploadInfo generateUploadUrl(Long orderId, int index) {
+        // s3Key는 .jpg 고정 (RunwayML은 확장자 무관, 실제 바이트만 읽음)
+        String s3Key = "uploads/" + orderId + "/photo_" + String.format("%02d", index) + ".jpg";
+        // Content-Type 미지정 → presigned URL에 서명 포함 안 됨 (캐시 키에서도 제외)
+        // 프론트에서 파일 타입에 맞는 헤더를 자유롭게 보낼 수 있음
+        String url = signedUrls.get("PUT " + s3Key, UPLOAD_URL_TTL,
+                expiresAt -> storage.presignPut(s3Key, UPLOAD_URL_TTL)).url();
+        return new PresignedUploadInfo(index, url, s3Key);
+    }
+
+    // ── 다운로드 URL 생성 (presigned GET 또는 CloudFront 서명 URL) ─────────
     public String generateDownloadUrl(String s3Key) {
-        GetObjectRequest getReq = GetObjectRequest.builder()
-                .bucket(bucket).key(s3Key).build();
-        GetObjectPresignRequest presignReq = GetObjectPresignRequest.builder()
-                .signatureDuration(Duration.ofHours(downloadExpireHours))
-                .getObjectRequest(getReq).build();
-        return s3Presigner.presignGetObject(presignReq).url().toString();
+        return generateDownloadLink(s3Key).url();
+    }
+
+    /** URL + 실제 만료 시각 — 캐시된 URL 일 수 있으므로 만료는 이 값을 저장 */
+    public SignedUrlCache.SignedUrl generateDownloadLink(String s3Key) {
+        Duration ttl = Duration.ofHours(downloadExpireHours);
+        if (cdnDelivery) {
+            return signedUrls.get("CDN " + s3Key, ttl, expiresAt -> cloudFront.sign(s3Key, expiresAt));
+        }
+        return signedUrls.get("GET " + s3Key, ttl, expiresAt -> storage.presignGet(s3Key, ttl));
+    }
+
+    /** /health 노출용 서명 URL 캐시 적중률 */
+    public Map<String, Object> signedUrlSnapshot() {
+        return signedUrls.snapshot();
     }
 
     // ── 외부 URL → S3 업로드 (RunwayML 결과 영상 저장용) ─────────────────
+    /** 업로드한 파일은 로컬 클립 캐시로 이동 — 합치기 단계에서 S3 재다운로드 없음 */
     public String uploadFromUrl(String sourceUrl, String s3Key) throws Exception {
         log.info("URL → S3 업로드 시작: {} → {}", sourceUrl, s3Key);
         Path tmpFile = Files.createTempFile("runway_clip_", ".mp4");
@@ -79,7 +104,9 @@ public class S3Service {
             try (InputStream in = new URL(sourceUrl).openStream()) {
                 Files.copy(in, tmpFile, StandardCopyOption.REPLACE_EXISTING);
             }
-            return uploadFile(tmpFile, s3Key, "video/mp4");
+            String eTag = storage.put(s3Key, tmpFile, "video/mp4");
+            clipCache.put(s3Key, tmpFile, eTag);
+            return s3Key;
         } finally {
             Files.deleteIfExists(tmpFile);
         }
@@ -87,23 +114,55 @@ public class S3Service {
 
     // ── 로컬 파일 → S3 업로드 ────────────────────────────────────────────
     public String uploadFile(Path localFile, String s3Key, String contentType) throws Exception {
-        long fileSize = Files.size(localFile);
-        log.info("S3 업로드: {} ({} bytes) → {}", localFile.getFileName(), fileSize, s3Key);
-        PutObjectRequest putReq = PutObjectRequest.builder()
-                .bucket(bucket).key(s3Key).contentType(contentType)
-                .contentLength(fileSize).build();
-        s3Client.putObject(putReq, RequestBody.fromFile(localFile));
-        log.info("S3 업로드 완료: {}", s3Key);
+        storage.put(s3Key, localFile, contentType);
         return s3Key;
     }
 
+    // ── multipart 업로드 시작 (인코딩 중 점진 업로드) — 미지원 저장소는 empty ──────
+    public Optional<MultipartUpload> startMultipartUpload(String s3Key, String contentType) {
+        return storage.startMultipartUpload(s3Key, contentType);
+    }
+
+    // ── 메모리 바이트 → S3 업로드 (정규화 사진 등 소형 객체) ─────────────
+    public String uploadBytes(byte[] data, String s3Key, String contentType) {
+        storage.putBytes(s3Key, data, contentType);
+        return s3Key;
+    }
+
+    // ── S3 파일 → 메모리 (원본 사진 디코딩용) ───────────────────────────
+    public byte[] downloadBytes(String s3Key) {
+        return storage.getBytes(s3Key);
+    }
+
+    // ── S3 파일 앞부분 (바이트 범위) → 메모리 (컨테이너 구조 확인용) ─────
+    public byte[] downloadRange(String s3Key, long offset, int length) {
+        return storage.getRange(s3Key, offset, length);
+    }
+
+    // ── 렌더 입력용 presigned GET (ffmpeg 가 HTTP 로 직접 읽음, 단시간 유효) ──
+    public String generateRenderInputUrl(String s3Key) {
+        return storage.presignGet(s3Key, Duration.ofHours(1));
+    }
+
     // ── S3 파일 → 로컬 다운로드 ─────────────────────────────────────────
     public Path downloadToLocal(String s3Key, Path targetPath) throws Exception {
-        log.info("S3 다운로드: {} → {}", s3Key, targetPath);
-        GetObjectRequest getReq = GetObjectRequest.builder()
-                .bucket(bucket).key(s3Key).build();
-        s3Client.getObject(getReq, targetPath);
-        return targetPath;
+        if (clipCache.copyTo(s3Key, targetPath)) return targetPath;
+        return storage.get(s3Key, targetPath);
+    }
+
+    // ── S3 파일 여러 개 → 로컬 동시 다운로드 (키 → 대상 경로, 캐시 적중분 제외) ──
+    public void downloadAllToLocal(Map<String, Path> targets) throws Exception {
+        Map<String, Path> misses = new LinkedHashMap<>();
+        targets.forEach((key, target) -> {
+            if (!clipCache.copyTo(key, target)) misses.put(key, target);
+        });
+        if (misses.isEmpty()) return;
+        storage.getAll(misses);
+    }
+
+    /** 로컬 클립 캐시에 있는지 — 있으면 presigned URL 스트리밍보다 로컬 복사가 빠름 */
+    public boolean isCached(String s3Key) {
+        return clipCache.contains(s3Key);
     }
 
     public record PresignedUploadInfo(int index, String uploadUrl, String s3Key) {}
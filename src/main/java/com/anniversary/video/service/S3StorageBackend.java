@@ -0,0 +1,170 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * AWS S3 저장소 — 업로드는 동기 클라이언트(대용량은 multipart 병렬), 다운로드는 S3Transfer(비동기 범위 병렬).
+ */
+@Service
+@Slf4j
+@Profile("!local-storage")
+public class S3StorageBackend implements StorageBackend {
+
+    private final S3Client s3Client;
+    private final S3Presigner s3Presigner;
+    private final S3Transfer s3Transfer;
+    private final Executor s3UploadExecutor;
+
+    /** 이보다 큰 파일은 multipart 병렬 업로드 */
+    private static final long MULTIPART_THRESHOLD = 2L * MultipartUpload.PART_SIZE;
+
+    @Value("${aws.s3.bucket}")
+    private String bucket;
+
+    public S3StorageBackend(
+            S3Client s3Client,
+            S3Presigner s3Presigner,
+            S3Transfer s3Transfer,
+            @Qualifier("s3UploadExecutor") Executor s3UploadExecutor) {
+        this.s3Client = s3Client;
+        this.s3Presigner = s3Presigner;
+        this.s3Transfer = s3Transfer;
+        this.s3UploadExecutor = s3UploadExecutor;
+    }
+
+    /** multipart 는 ETag 가 MD5 가 아니므로 null */
+    @Override
+    public String put(String key, Path file, String contentType) throws Exception {
+        long fileSize = Files.size(file);
+        log.info("S3 업로드: {} ({} bytes) → {}", file.getFileName(), fileSize, key);
+        if (fileSize > MULTIPART_THRESHOLD) {
+            uploadMultipart(file, key, contentType);
+            return null;
+        }
+        PutObjectRequest putReq = PutObjectRequest.builder()
+                .bucket(bucket).key(key).contentType(contentType)
+                .contentLength(fileSize).build();
+        String eTag = s3Client.putObject(putReq, RequestBody.fromFile(file)).eTag();
+        log.info("S3 업로드 완료: {}", key);
+        return eTag;
+    }
+
+    private void uploadMultipart(Path file, String key, String contentType) throws Exception {
+        MultipartUpload upload = createMultipartUpload(key, contentType);
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] part;
+            while ((part = in.readNBytes(MultipartUpload.PART_SIZE)).length > 0) {
+                upload.submitPart(part);
+            }
+        } catch (Exception e) {
+            upload.abort();
+            throw e;
+        }
+        upload.complete();
+    }
+
+    @Override
+    public Optional<MultipartUpload> startMultipartUpload(String key, String contentType) {
+        return Optional.of(createMultipartUpload(key, contentType));
+    }
+
+    private MultipartUpload createMultipartUpload(String key, String contentType) {
+        CreateMultipartUploadRequest createReq = CreateMultipartUploadRequest.builder()
+                .bucket(bucket).key(key).contentType(contentType)
+                .checksumAlgorithm(ChecksumAlgorithm.SHA256).build();
+        String uploadId = s3Client.createMultipartUpload(createReq).uploadId();
+        return new MultipartUpload(s3Client, bucket, key, uploadId, s3UploadExecutor);
+    }
+
+    @Override
+    public String putBytes(String key, byte[] data, String contentType) {
+        log.info("S3 업로드: {} bytes → {}", data.length, key);
+        PutObjectRequest putReq = PutObjectRequest.builder()
+                .bucket(bucket).key(key).contentType(contentType)
+                .contentLength((long) data.length).build();
+        return s3Client.putObject(putReq, RequestBody.fromBytes(data)).eTag();
+    }
+
+    @Override
+    public Path get(String key, Path target) {
+        return S3Transfer.join(s3Transfer.download(key, target));
+    }
+
+    @Override
+    public void getAll(Map<String, Path> targets) {
+        s3Transfer.downloadAll(targets);
+    }
+
+    @Override
+    public byte[] getBytes(String key) {
+        return S3Transfer.join(s3Transfer.downloadBytes(key));
+    }
+
+    @Override
+    public byte[] getRange(String key, long offset, int length) {
+        return S3Transfer.join(s3Transfer.downloadRange(key, offset, length));
+    }
+
+    @Override
+    public Optional<ObjectInfo> head(String key) {
+        try {
+            HeadObjectResponse res = s3Client.headObject(r -> r.bucket(bucket).key(key));
+            return Optional.of(new ObjectInfo(res.contentLength(), res.eTag()));
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Client.deleteObject(r -> r.bucket(bucket).key(key));
+    }
+
+    @Override
+    public String presignGet(String key, Duration ttl) {
+        GetObjectRequest getReq = GetObjectRequest.builder()
+                .bucket(bucket).key(key).build();
+        GetObjectPresignRequest presignReq = GetObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .getObjectRequest(getReq).build();
+        return s3Presigner.presignGetObject(presignReq).url().toString();
+    }
+
+    @Override
+    public String presignPut(String key, Duration ttl) {
+        PutObjectRequest putReq = PutObjectRequest.builder()
+                .bucket(bucket).key(key).build();
+        PutObjectPresignRequest presignReq = PutObjectPresignRequest.builder()
+                .signatureDuration(ttl)
+                .putObjectRequest(putReq).build();
+        return s3Presigner.presignPutObject(presignReq).url().toString();
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        return s3Transfer.snapshot();
+    }
+}
@@ -0,0 +1,190 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * S3 다운로드 전송 계층 (S3AsyncClient) — 여러 객체를 동시에, 큰 객체는 바이트 범위로 나눠 병렬 수신.
+ * 동시 요청 수는 HTTP 클라이언트(aws.s3.transfer.concurrency)에서 제한 — 대기 요청은 버퍼를 잡지 않으므로
+ * 메모리는 동시 요청 수 × RANGE_SIZE 이내.
+ */
+@Service
+@Slf4j
+@Profile("!local-storage")
+public class S3Transfer {
+
+    /** 범위 요청 단위 — 첫 범위 응답의 Content-Range 로 전체 크기를 알아낸 뒤 나머지를 병렬 요청 */
+    static final int RANGE_SIZE = 4 * 1024 * 1024;
+
+    private final S3AsyncClient s3AsyncClient;
+
+    @Value("${aws.s3.bucket}")
+    private String bucket;
+
+    private final AtomicLong objects  = new AtomicLong();
+    private final AtomicLong bytes    = new AtomicLong();
+    private final AtomicLong millis   = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public S3Transfer(S3AsyncClient s3AsyncClient) {
+        this.s3AsyncClient = s3AsyncClient;
+    }
+
+    /** 여러 객체 동시 다운로드 — 전부 끝날 때까지 대기, 하나라도 실패하면 예외 */
+    public void downloadAll(Map<String, Path> targets) {
+        long started = System.currentTimeMillis();
+        CompletableFuture<?>[] futures = targets.entrySet().stream()
+                .map(e -> download(e.getKey(), e.getValue()))
+                .toArray(CompletableFuture[]::new);
+        join(CompletableFuture.allOf(futures));
+        log.info("S3 동시 다운로드 완료 - {}개, {}ms", targets.size(), System.currentTimeMillis() - started);
+    }
+
+    /** 객체 → 로컬 파일. 첫 범위 이후 구간은 같은 ETag 조건으로 병렬 요청 (중간 교체 시 412 로 실패) */
+    public CompletableFuture<Path> download(String key, Path target) {
+        long started = System.nanoTime();
+        return firstRange(key).thenCompose(first -> {
+            long size = totalSize(first);
+            String eTag = first.response().eTag();
+            FileChannel channel = open(target);
+            try {
+                write(channel, first, 0);
+            } catch (RuntimeException e) {
+                close(channel);
+                throw e;
+            }
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (long offset = RANGE_SIZE; offset < size; offset += RANGE_SIZE) {
+                long at = offset;
+                int length = (int) Math.min(RANGE_SIZE, size - offset);
+                writes.add(getRange(key, at, length, eTag).thenAccept(part -> write(channel, part, at)));
+            }
+            return CompletableFuture.allOf(writes.toArray(new CompletableFuture[0]))
+                    .whenComplete((v, e) -> close(channel))
+                    .thenApply(v -> size);
+        }).handle((size, e) -> {
+            if (e != null) {
+                failures.incrementAndGet();
+                throw e instanceof CompletionException ce ? ce : new CompletionException(e);
+            }
+            long elapsed = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+            objects.incrementAndGet();
+            bytes.addAndGet(size);
+            millis.addAndGet(elapsed);
+            log.info("S3 다운로드: {} → {} ({} bytes, {}ms, {} MB/s)",
+                    key, target.getFileName(), size, elapsed, String.format("%.1f", size / 1048.576 / elapsed));
+            return target;
+        });
+    }
+
+    public CompletableFuture<byte[]> downloadBytes(String key) {
+        return s3AsyncClient.getObject(r -> r.bucket(bucket).key(key), AsyncResponseTransformer.toBytes())
+                .thenApply(ResponseBytes::asByteArray);
+    }
+
+    public CompletableFuture<byte[]> downloadRange(String key, long offset, int length) {
+        return getRange(key, offset, length, null).thenApply(ResponseBytes::asByteArray);
+    }
+
+    /** 누적 수신량·평균 처리량 — /health 노출용 (처리량은 객체별 소요 시간 합 기준) */
+    public Map<String, Object> snapshot() {
+        long totalMillis = millis.get();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("objects", objects.get());
+        result.put("megabytes", bytes.get() >> 20);
+        result.put("avgMBps", totalMillis == 0 ? 0 : Math.round(bytes.get() / 1048.576 / totalMillis * 10) / 10.0);
+        result.put("failures", failures.get());
+        return result;
+    }
+
+    /** 비동기 결과 대기 — CompletionException 을 벗겨 원래 예외로 */
+    static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+    }
+
+    private CompletableFuture<ResponseBytes<GetObjectResponse>> getRange(String key, long offset, int length,
+                                                                         String ifMatch) {
+        GetObjectRequest req = GetObjectRequest.builder()
+                .bucket(bucket).key(key)
+                .range("bytes=" + offset + "-" + (offset + length - 1))
+                .ifMatch(ifMatch).build();
+        return s3AsyncClient.getObject(req, AsyncResponseTransformer.toBytes());
+    }
+
+    /**
+     * 첫 범위 — 0바이트 객체는 bytes=0-N 이 만족 불가라 S3 가 416(InvalidRange)으로 거절하므로
+     * 범위 없는 GET 으로 다시 받음 (빈 본문 → 크기 0, 빈 파일 생성)
+     */
+    private CompletableFuture<ResponseBytes<GetObjectResponse>> firstRange(String key) {
+        return getRange(key, 0, RANGE_SIZE, null).exceptionallyCompose(e -> isInvalidRange(e)
+                ? s3AsyncClient.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build(),
+                        AsyncResponseTransformer.toBytes())
+                : CompletableFuture.failedFuture(e));
+    }
+
+    static boolean isInvalidRange(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof S3Exception s3 && s3.statusCode() == 416;
+    }
+
+    /** "bytes 0-4194303/12345678" → 12345678 */
+    static long totalSize(ResponseBytes<GetObjectResponse> response) {
+        String contentRange = response.response().contentRange();
+        if (contentRange == null) return response.asByteArrayUnsafe().length;
+        return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1));
+    }
+
+    private static FileChannel open(Path target) {
+        try {
+            return FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** 위치 지정 쓰기 — 범위별로 다른 스레드에서 호출돼도 안전 */
+    private static void write(FileChannel channel, ResponseBytes<GetObjectResponse> part, long position) {
+        ByteBuffer buf = part.asByteBuffer();
+        try {
+            while (buf.hasRemaining()) {
+                position += channel.write(buf, position);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {}
+    }
+}
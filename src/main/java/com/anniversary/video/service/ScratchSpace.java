@@ -0,0 +1,285 @@
+package com.anniversary.video.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 렌더 작업 디렉터리 관리 — 주문별로 두 루트에서 할당.
+ *   work   : 중간 산출물 (raw/정규화 클립, merged.mp4, BGM)
+ *   output : 최종 산출물 (final/vertical/share, HLS, 미리보기)
+ * 둘 다 디스크 — 메모리가 작은 단일 호스트(MySQL·JVM 동거)에서 tmpfs 는 렌더 중 OOM 위험.
+ * 루트별 예산(상한)을 예약 방식으로 관리하고, 실제 여유 디스크에서 아직 쓰지 않은 예약분과 min-free-disk
+ * (OS·Docker 이미지·MySQL 데이터 몫)를 뺀 만큼만 허용 — 예산이 커도 디스크가 모자라면 렌더 시작을 대기시킴.
+ * Lease.close() 에서 디렉터리 삭제 + 예약 반환 — 정리 스케줄러에 의존하지 않음.
+ */
+@Service
+@Slf4j
+public class ScratchSpace {
+
+    /** 활성 lease 가 없는 디렉터리 중 이보다 오래된 것은 비정상 종료 잔재로 보고 삭제 */
+    private static final Duration ORPHAN_MAX_AGE = Duration.ofHours(1);
+
+    private final Root work;
+    private final Root output;
+    private final long minFreeDisk;
+    private final Duration admissionTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private final Map<Path, Lease> active = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public ScratchSpace(
+            @Value("${scratch.work-root:/tmp/anniversary/work}") String workRoot,
+            @Value("${scratch.work-budget:2GB}") DataSize workBudget,
+            @Value("${scratch.output-root:/tmp/anniversary/output}") String outputRoot,
+            @Value("${scratch.output-budget:3GB}") DataSize outputBudget,
+            @Value("${scratch.min-free-disk:4GB}") DataSize minFreeDisk,
+            @Value("${scratch.admission-timeout:30m}") Duration admissionTimeout) {
+        this.work   = new Root(Paths.get(workRoot), workBudget.toBytes());
+        this.output = new Root(Paths.get(outputRoot), outputBudget.toBytes());
+        this.minFreeDisk = minFreeDisk.toBytes();
+        this.admissionTimeout = admissionTimeout;
+        for (Root root : new Root[]{work, output}) {
+            long available = Math.max(0, root.usableSpace() - this.minFreeDisk);
+            if (available < root.budget) {
+                log.warn("스크래치 예산이 여유 디스크보다 큼 - {}: 예산 {}, 사용 가능 {} (여유 {} - 최소 {}) → 디스크 기준 적용",
+                        root.path, mb(root.budget), mb(available), mb(root.usableSpace()), mb(this.minFreeDisk));
+            }
+        }
+    }
+
+    /**
+     * 예약 가능해질 때까지 대기 후 주문 작업 디렉터리 할당.
+     * 다른 활성 작업이 없으면 예산 초과 추정치라도 통과 (단독 대형 주문이 영원히 막히지 않도록).
+     */
+    public Lease acquire(Long orderId, long workBytes, long outputBytes) throws InterruptedException {
+        long deadline = System.nanoTime() + admissionTimeout.toNanos();
+        lock.lock();
+        try {
+            if (!admissible(workBytes, outputBytes)) {
+                log.info("스크래치 공간 대기 - orderId: {}, 활성 작업: {}개", orderId, active.size());
+            }
+            while (!admissible(workBytes, outputBytes)) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException(String.format(
+                            "스크래치 공간 대기 시간 초과 - orderId: %d, 필요: work %s / output %s, 현황: %s",
+                            orderId, mb(workBytes), mb(outputBytes), snapshot()));
+                }
+                // 반환 신호 외에 외부 요인(다른 프로세스)으로 여유 공간이 생길 수 있어 주기적으로 재확인
+                released.awaitNanos(Math.min(remaining, TimeUnit.SECONDS.toNanos(10)));
+            }
+            work.reserved.addAndGet(workBytes);
+            output.reserved.addAndGet(outputBytes);
+
+            String name = orderId + "-" + sequence.incrementAndGet();
+            Lease lease = new Lease(orderId, createDir(work, name), createDir(output, name), workBytes, outputBytes);
+            active.put(lease.workDir, lease);
+            log.info("스크래치 할당 - orderId: {}, work: {}, output: {}", orderId, lease.workDir, lease.outputDir);
+            return lease;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean admissible(long workBytes, long outputBytes) {
+        if (active.isEmpty()) return true;
+        if (!work.withinBudget(workBytes) || !output.withinBudget(outputBytes)) return false;
+        long workPending = pending(true);
+        long outputPending = pending(false);
+        if (work.sameStore(output)) {
+            return work.leavesFree(workPending + outputPending + workBytes + outputBytes, minFreeDisk);
+        }
+        return work.leavesFree(workPending + workBytes, minFreeDisk)
+                && output.leavesFree(outputPending + outputBytes, minFreeDisk);
+    }
+
+    /** 활성 작업이 예약했지만 아직 쓰지 않은 바이트 — 여유 디스크에서 미리 빼 둠 */
+    private long pending(boolean workRoot) {
+        return active.values().stream()
+                .mapToLong(l -> workRoot
+                        ? Math.max(0, l.workBytes - sizeOf(l.workDir))
+                        : Math.max(0, l.outputBytes - sizeOf(l.outputDir)))
+                .sum();
+    }
+
+    private void release(Lease lease) {
+        deleteRecursively(lease.workDir);
+        deleteRecursively(lease.outputDir);
+        lock.lock();
+        try {
+            if (active.remove(lease.workDir) != null) {
+                work.reserved.addAndGet(-lease.workBytes);
+                output.reserved.addAndGet(-lease.outputBytes);
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.info("스크래치 반환 - orderId: {}", lease.orderId);
+    }
+
+    /** 루트별 예산/예약/실사용/여유 — /health 노출용 */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("activeLeases", active.size());
+        result.put("minFreeDisk", mb(minFreeDisk));
+        result.put("work", work.snapshot(active.values().stream().mapToLong(l -> sizeOf(l.workDir)).sum()));
+        result.put("output", output.snapshot(active.values().stream().mapToLong(l -> sizeOf(l.outputDir)).sum()));
+        return result;
+    }
+
+    /** 비정상 종료로 남은 디렉터리 정리 (활성 lease 제외) — OrderScheduler 에서 주기 호출 */
+    public int sweepOrphans() {
+        long threshold = System.currentTimeMillis() - ORPHAN_MAX_AGE.toMillis();
+        int deleted = 0;
+        for (Root root : new Root[]{work, output}) {
+            if (!Files.isDirectory(root.path)) continue;
+            try (DirectoryStream<Path> dirs = Files.newDirectoryStream(root.path)) {
+                for (Path dir : dirs) {
+                    if (!Files.isDirectory(dir) || isLeased(dir)) continue;
+                    BasicFileAttributes attrs = Files.readAttributes(dir, BasicFileAttributes.class);
+                    if (attrs.lastModifiedTime().toMillis() < threshold) {
+                        deleteRecursively(dir);
+                        deleted++;
+                        log.info("[ScratchSweep] 삭제: {}", dir);
+                    }
+                }
+            } catch (IOException e) {
+                log.warn("[ScratchSweep] 순회 실패: {} - {}", root.path, e.getMessage());
+            }
+        }
+        return deleted;
+    }
+
+    private boolean isLeased(Path dir) {
+        return active.values().stream().anyMatch(l -> l.workDir.equals(dir) || l.outputDir.equals(dir));
+    }
+
+    private static Path createDir(Root root, String name) {
+        try {
+            return Files.createDirectories(root.path.resolve(name));
+        } catch (IOException e) {
+            throw new UncheckedIOException("스크래치 디렉터리 생성 실패: " + root.path, e);
+        }
+    }
+
+    private static long sizeOf(Path dir) {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            return walk.filter(Files::isRegularFile).mapToLong(p -> p.toFile().length()).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteRecursively(Path dir) {
+        if (!Files.exists(dir)) return;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder())
+                .forEach(p -> { try { Files.delete(p); } catch (IOException ignored) {} });
+        } catch (IOException e) {
+            log.warn("스크래치 삭제 실패: {} - {}", dir, e.getMessage());
+        }
+    }
+
+    private static String mb(long bytes) {
+        return (bytes >> 20) + "MB";
+    }
+
+    private static final class Root {
+        final Path path;
+        final long budget;
+        final AtomicLong reserved = new AtomicLong();
+
+        Root(Path path, long budget) {
+            this.path = path;
+            this.budget = budget;
+        }
+
+        boolean withinBudget(long bytes) {
+            return reserved.get() + bytes <= budget;
+        }
+
+        /** bytes 를 더 써도 실제 여유 디스크가 minFree 이상 남는지 */
+        boolean leavesFree(long bytes, long minFree) {
+            return usableSpace() - bytes >= minFree;
+        }
+
+        boolean sameStore(Root other) {
+            try {
+                Files.createDirectories(path);
+                Files.createDirectories(other.path);
+                return Files.getFileStore(path).equals(Files.getFileStore(other.path));
+            } catch (IOException e) {
+                return true;   // 판단 불가 — 보수적으로 같은 디스크로 취급
+            }
+        }
+
+        long usableSpace() {
+            try {
+                Files.createDirectories(path);
+                return Files.getFileStore(path).getUsableSpace();
+            } catch (IOException e) {
+                return 0;
+            }
+        }
+
+        Map<String, Object> snapshot(long usedBytes) {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("path", path.toString());
+            m.put("budget", mb(budget));
+            m.put("reserved", mb(reserved.get()));
+            m.put("used", mb(usedBytes));
+            m.put("usable", mb(usableSpace()));
+            return m;
+        }
+    }
+
+    /** 주문 1건의 작업 디렉터리 — try-with-resources 로 사용 */
+    public final class Lease implements AutoCloseable {
+        private final Long orderId;
+        private final Path workDir;
+        private final Path outputDir;
+        private final long workBytes;
+        private final long outputBytes;
+
+        private Lease(Long orderId, Path workDir, Path outputDir, long workBytes, long outputBytes) {
+            this.orderId = orderId;
+            this.workDir = workDir;
+            this.outputDir = outputDir;
+            this.workBytes = workBytes;
+            this.outputBytes = outputBytes;
+        }
+
+        public Path workDir() {
+            return workDir;
+        }
+
+        public Path outputDir() {
+            return outputDir;
+        }
+
+        @Override
+        public void close() {
+            release(this);
+        }
+    }
+}
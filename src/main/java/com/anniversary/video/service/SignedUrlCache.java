@@ -0,0 +1,67 @@
+package com.anniversary.video.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 서명 URL 재사용 캐시 (LRU, 항목 수 제한).
+ * 남은 유효 시간이 minRemaining(최대 TTL 의 절반) 이상이면 재서명 없이 같은 URL 반환 — 새로고침마다 서명 계산/객체 생성 없음.
+ * 서명은 락 밖에서 수행 (동시 미스는 둘 다 서명, 나중 값이 남음).
+ */
+public final class SignedUrlCache {
+
+    private final int maxEntries;
+    private final Duration minRemaining;
+    private final Map<String, SignedUrl> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public SignedUrlCache(int maxEntries, Duration minRemaining) {
+        this.maxEntries = maxEntries;
+        this.minRemaining = minRemaining;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, SignedUrl> eldest) {
+                return size() > SignedUrlCache.this.maxEntries;
+            }
+        };
+    }
+
+    /** signer: 만료 시각 → 서명 URL */
+    public SignedUrl get(String cacheKey, Duration ttl, Function<Instant, String> signer) {
+        Instant now = Instant.now();
+        Duration margin = minRemaining.compareTo(ttl.dividedBy(2)) < 0 ? minRemaining : ttl.dividedBy(2);
+        synchronized (entries) {
+            SignedUrl cached = entries.get(cacheKey);
+            if (cached != null && cached.expiresAt().isAfter(now.plus(margin))) {
+                hits.incrementAndGet();
+                return cached;
+            }
+        }
+        misses.incrementAndGet();
+        Instant expiresAt = now.plus(ttl);
+        SignedUrl signed = new SignedUrl(signer.apply(expiresAt), expiresAt);
+        if (maxEntries > 0) {
+            synchronized (entries) {
+                entries.put(cacheKey, signed);
+            }
+        }
+        return signed;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        synchronized (entries) {
+            result.put("entries", entries.size());
+        }
+        result.put("hits", hits.get());
+        result.put("misses", misses.get());
+        return result;
+    }
+
+    public record SignedUrl(String url, Instant expiresAt) {}
+}
@@ -0,0 +1,52 @@
+package com.anniversary.video.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 객체 저장소 — S3Service 가 쓰는 기본 연산.
+ *   S3StorageBackend    : 기본 (AWS S3)
+ *   LocalStorageBackend : local-storage 프로파일 — 디스크 + HMAC 서명 URL (오프라인 부하 테스트/단일 서버)
+ */
+public interface StorageBackend {
+
+    /** 파일 업로드 → ETag (내용 MD5 hex, 알 수 없으면 null) */
+    String put(String key, Path file, String contentType) throws Exception;
+
+    String putBytes(String key, byte[] data, String contentType);
+
+    Path get(String key, Path target) throws Exception;
+
+    /** 여러 객체 → 로컬 (키 → 대상 경로) */
+    default void getAll(Map<String, Path> targets) throws Exception {
+        for (Map.Entry<String, Path> e : targets.entrySet()) get(e.getKey(), e.getValue());
+    }
+
+    byte[] getBytes(String key);
+
+    byte[] getRange(String key, long offset, int length);
+
+    Optional<ObjectInfo> head(String key);
+
+    void delete(String key);
+
+    /** 제한 시간 동안 인증 없이 GET 가능한 URL (Range 요청 지원) */
+    String presignGet(String key, Duration ttl);
+
+    /** 제한 시간 동안 인증 없이 PUT 가능한 URL — Content-Type 은 서명에 포함하지 않음 */
+    String presignPut(String key, Duration ttl);
+
+    /** 인코딩 중 점진 업로드 — 미지원 저장소는 empty (호출측이 완성 파일 업로드로 폴백) */
+    default Optional<MultipartUpload> startMultipartUpload(String key, String contentType) {
+        return Optional.empty();
+    }
+
+    /** /health 노출용 전송 지표 */
+    default Map<String, Object> metrics() {
+        return Map.of();
+    }
+
+    record ObjectInfo(long size, String eTag) {}
+}
@@ -33,6 +33,8 @@ public class VideoGenerationService {
     private final NotificationService notificationService;
     private final OrderService orderService;
     private final EventLoggingService eventLoggingService;
+    private final PhotoIngestService photoIngestService;
+    private final OrderEventBroadcaster orderEventBroadcaster;
     private final Executor clipTaskExecutor;
 
     @Value("${xai.api-key}")
@@ -49,6 +51,8 @@ public class VideoGenerationService {
             NotificationService notificationService,
             OrderService orderService,
             EventLoggingService eventLoggingService,
+            PhotoIngestService photoIngestService,
+            OrderEventBroadcaster orderEventBroadcaster,
             @Qualifier("clipTaskExecutor") Executor clipTaskExecutor) {
         this.orderRepository       = orderRepository;
         this.orderPhotoRepository  = orderPhotoRepository;
@@ -57,6 +61,8 @@ public class VideoGenerationService {
         this.notificationService   = notificationService;
         this.orderService          = orderService;
         this.eventLoggingService   = eventLoggingService;
+        this.photoIngestService    = photoIngestService;
+        this.orderEventBroadcaster = orderEventBroadcaster;
         this.clipTaskExecutor      = clipTaskExecutor;
     }
 
@@ -76,22 +82,28 @@ public class VideoGenerationService {
             List<OrderPhoto> photos = orderPhotoRepository.findByOrderIdOrderBySortOrder(orderId);
             log.info("처리할 사진 수: {} (병렬 처리)", photos.size());
 
+            // ── 사진 정규화: EXIF 회전 + 720p 축소 ───────────────────────
+            failureStage = "photo_ingest";
+            photoIngestService.normalizeAll(orderId, photos);
+
             // ── 사진 → 클립 병렬 생성 ────────────────────────────────────
             failureStage = "clip_generation";
-            generateClipsInParallel(orderId, photos);
+            generateClipsInParallel(order, photos);
 
             // ── FFmpeg: 클립 합성 + BGM ───────────────────────────────────
             failureStage = "ffmpeg_merge";
+            orderEventBroadcaster.progress(orderId, order.getAccessToken(), "merge", 0, 1);
             List<OrderPhoto> completedPhotos =
                     orderPhotoRepository.findByOrderIdOrderBySortOrder(orderId);
-            String finalS3Key = ffmpegService.mergeClipsWithMusic(orderId, completedPhotos, order);
+            FfmpegService.RenderOutputs outputs =
+                    ffmpegService.mergeClipsWithMusic(orderId, completedPhotos, order);
 
             // ── S3 업로드 완료 → 다운로드 URL ─────────────────────────────
             failureStage = "s3_upload";
-            String downloadUrl = s3Service.generateDownloadUrl(finalS3Key);
+            String downloadUrl = s3Service.generateDownloadUrl(outputs.master());
 
             // ── 완료 처리 ─────────────────────────────────────────────────
-            orderService.markAsCompleted(orderId, finalS3Key, downloadUrl);
+            orderService.markAsCompleted(orderId, outputs, downloadUrl);
 
             Order completedOrder = orderRepository.findById(orderId).orElseThrow();
             notificationService.sendCompletionAlert(completedOrder, downloadUrl);
@@ -134,14 +146,15 @@ public class VideoGenerationService {
 
             // FFmpeg: 클립 합성 + BGM
             failureStage = "ffmpeg_merge";
-            String finalS3Key = ffmpegService.mergeClipsWithMusic(orderId, clipsReady, order);
+            FfmpegService.RenderOutputs outputs =
+                    ffmpegService.mergeClipsWithMusic(orderId, clipsReady, order);
 
             // S3 업로드 완료 → 다운로드 URL
             failureStage = "s3_upload";
-            String downloadUrl = s3Service.generateDownloadUrl(finalS3Key);
+            String downloadUrl = s3Service.generateDownloadUrl(outputs.master());
 
             // 완료 처리
-            orderService.markAsCompleted(orderId, finalS3Key, downloadUrl);
+            orderService.markAsCompleted(orderId, outputs, downloadUrl);
 
             Order completedOrder = orderRepository.findById(orderId).orElseThrow();
             notificationService.sendCompletionAlert(completedOrder, downloadUrl);
@@ -160,9 +173,11 @@ public class VideoGenerationService {
     // ── 클립 병렬 생성 ────────────────────────────────────────────────────
     private static final int CLIP_MAX_RETRY = 3;
 
-    private void generateClipsInParallel(Long orderId, List<OrderPhoto> photos) {
+    private void generateClipsInParallel(Order order, List<OrderPhoto> photos) {
+        Long orderId = order.getId();
         int total = photos.size();
         AtomicInteger done = new AtomicInteger(0);
+        orderEventBroadcaster.progress(orderId, order.getAccessToken(), "clip", 0, total);
 
         List<CompletableFuture<Void>> futures = photos.stream()
                 .map(photo -> CompletableFuture
@@ -173,6 +188,7 @@ public class VideoGenerationService {
                             int n = done.incrementAndGet();
                             log.info("클립 완료 [{}/{}] sortOrder={}, s3Key={}",
                                     n, total, photo.getSortOrder(), clipS3Key);
+                            orderEventBroadcaster.progress(orderId, order.getAccessToken(), "clip", n, total);
                         })
                 )
                 .collect(Collectors.toList());
@@ -218,7 +234,9 @@ public class VideoGenerationService {
     private String generateClip(Long orderId, OrderPhoto photo) throws Exception {
         log.info("Grok Imagine 호출 시작 - orderId: {}, sortOrder: {}", orderId, photo.getSortOrder());
 
-        String imageUrl = s3Service.generateDownloadUrl(photo.getS3Key());
+        // 정규화본이 있으면 사용 (원본 대비 수십 배 작아 xAI fetch 실패 감소)
+        String sourceKey = photo.getNormalizedS3Key() != null ? photo.getNormalizedS3Key() : photo.getS3Key();
+        String imageUrl = s3Service.generateDownloadUrl(sourceKey);
         WebClient client = buildXaiClient();
 
         // 캡션이 있으면 프롬프트에 반영
@@ -0,0 +1,2 @@
+ALTER TABLE orders ADD COLUMN s3_vertical_path VARCHAR(300) NULL;
+ALTER TABLE orders ADD COLUMN s3_share_path VARCHAR(300) NULL;
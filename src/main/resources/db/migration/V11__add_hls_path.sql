@@ -0,0 +1 @@
+ALTER TABLE orders ADD COLUMN s3_hls_path VARCHAR(300) NULL;
@@ -0,0 +1,3 @@
+ALTER TABLE orders ADD COLUMN s3_poster_path VARCHAR(300) NULL;
+ALTER TABLE orders ADD COLUMN s3_teaser_path VARCHAR(300) NULL;
+ALTER TABLE orders ADD COLUMN s3_sprite_vtt_path VARCHAR(300) NULL;
@@ -0,0 +1,9 @@
+-- V13: 포트원 웹훅 중복 수신 방지 (webhook-id 기준, 처리 후 7일 보관)
+
+CREATE TABLE IF NOT EXISTS webhook_receipts (
+    webhook_id    VARCHAR(100) NOT NULL,
+    received_at   DATETIME     NOT NULL,
+    processed_at  DATETIME     NULL,
+    PRIMARY KEY (webhook_id),
+    INDEX idx_webhook_receipts_received (received_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,17 @@
+-- V14: orders / order_photos ID 를 풀링 시퀀스로 (Hibernate 가 MySQL 에서는 *_seq 테이블로 에뮬레이션)
+-- 50개 단위로 미리 할당 → INSERT 를 JDBC 배치로 묶을 수 있음. AUTO_INCREMENT 는 그대로 두되 앱이 ID 를 지정.
+-- 시작값은 기존 최대 ID + 100 — pooled 최적화는 (값 - 49 ~ 값) 을 쓰므로 기존 ID 와 겹치지 않음.
+
+CREATE TABLE IF NOT EXISTS orders_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO orders_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM orders;
+
+CREATE TABLE IF NOT EXISTS order_photos_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO order_photos_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 100 FROM order_photos;
@@ -0,0 +1,32 @@
+-- V15: 스케줄러·주문·통계 쿼리용 복합 인덱스
+-- 쿼리별 대응 (OrderRepository / OrderEventRepository):
+--   status + updated_at      : stuck 감지, 업로드 리마인더, 실패 건수, 일별 매출
+--   status + created_at      : 미결제 만료, 상태별 오늘 주문 수
+--   phone + created_at + status       : 주문 생성 Rate limit
+--   phone + name + status + created_at : 이어하기 주문 조회
+--   status + gen_completed_at / gen_completed_at : SLA 집계
+--   created_at DESC + id DESC : 관리자 키셋 페이지 정렬
+-- 엔티티(@Table indexes)에도 같은 이름으로 선언 — QueryPlanTest 가 양쪽 일치와 실행 계획을 검사
+
+ALTER TABLE orders
+    ADD INDEX idx_orders_status_updated (status, updated_at),
+    ADD INDEX idx_orders_status_created (status, created_at),
+    ADD INDEX idx_orders_phone_created (customer_phone, created_at, status),
+    ADD INDEX idx_orders_phone_name_status (customer_phone, customer_name, status, created_at),
+    ADD INDEX idx_orders_status_gen_completed (status, gen_completed_at),
+    ADD INDEX idx_orders_gen_completed (gen_completed_at),
+    ADD INDEX idx_orders_created_id (created_at DESC, id DESC);
+
+-- 위 복합 인덱스의 앞부분과 겹치는 단일 컬럼 인덱스 정리 (쓰기 비용 절감)
+ALTER TABLE orders
+    DROP INDEX idx_status,
+    DROP INDEX idx_phone,
+    DROP INDEX idx_created_at;
+
+ALTER TABLE order_events
+    ADD INDEX idx_order_events_order_created (order_id, created_at),
+    ADD INDEX idx_order_events_type_created (event_type, created_at);
+
+ALTER TABLE order_events
+    DROP INDEX idx_order_events_order,
+    DROP INDEX idx_order_events_type;
@@ -0,0 +1,8 @@
+-- V16: 웹훅 처리 실패·재시작 복구 — 본문 보관 + 재시도 일정
+-- 200 응답 후에는 포트원이 재전송하지 않으므로 수신 기록을 지우지 않고 스케줄러가 재시도
+ALTER TABLE webhook_receipts
+    ADD COLUMN payload         TEXT         NULL,
+    ADD COLUMN attempts        INT          NOT NULL DEFAULT 0,
+    ADD COLUMN next_attempt_at DATETIME     NULL,
+    ADD COLUMN last_error      VARCHAR(500) NULL,
+    ADD INDEX idx_webhook_receipts_pending (processed_at, next_attempt_at);
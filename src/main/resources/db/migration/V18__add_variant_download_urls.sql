@@ -0,0 +1,2 @@
+ALTER TABLE orders ADD COLUMN vertical_download_url VARCHAR(500) NULL;
+ALTER TABLE orders ADD COLUMN share_download_url VARCHAR(500) NULL;
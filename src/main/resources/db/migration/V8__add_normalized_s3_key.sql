@@ -0,0 +1 @@
+ALTER TABLE order_photos ADD COLUMN normalized_s3_key VARCHAR(300) NULL;
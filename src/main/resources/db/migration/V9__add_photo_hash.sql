@@ -0,0 +1,2 @@
+ALTER TABLE order_photos ADD COLUMN photo_hash VARCHAR(16) NULL;
+ALTER TABLE order_photos ADD INDEX idx_photo_hash (photo_hash);
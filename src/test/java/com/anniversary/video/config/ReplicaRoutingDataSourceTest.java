@@ -0,0 +1,130 @@
+package com.anniversary.video.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** H2 두 개(primary / replica)로 라우팅·지연 대체 확인 — 각 DB 의 marker 행으로 어느 쪽에서 읽었는지 구분 */
+class ReplicaRoutingDataSourceTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private JdbcTemplate primaryJdbc;
+    private JdbcTemplate replicaJdbc;
+    private ReplicaLagMonitor monitor;
+    private DataSource routing;
+    private DataSourceTransactionManager txManager;
+    private boolean replicaDown;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("primary");
+        replica = new DelegatingDataSource(h2("replica")) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (replicaDown) throw new SQLException("replica down");
+                return super.getConnection();
+            }
+        };
+        primaryJdbc = new JdbcTemplate(primary);
+        replicaJdbc = new JdbcTemplate(replica);
+        primaryJdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        primaryJdbc.update("INSERT INTO marker VALUES ('primary')");
+        replicaJdbc.execute("CREATE TABLE marker (name VARCHAR(20))");
+        replicaJdbc.update("INSERT INTO marker VALUES ('replica')");
+        replicaJdbc.execute("CREATE TABLE replica_lag (seconds BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        monitor = new ReplicaLagMonitor(replica, "SELECT seconds FROM replica_lag", Duration.ofSeconds(5));
+        routing = new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, monitor));
+        txManager = new DataSourceTransactionManager(routing);
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션만 replica — 쓰기 트랜잭션·트랜잭션 밖은 primary, 첫 확인 전에는 전부 primary")
+    void routesReadOnlyToReplica() {
+        assertThat(read(true)).isEqualTo("primary");
+
+        monitor.check();
+
+        assertThat(read(true)).isEqualTo("replica");
+        assertThat(read(false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("지연 max-lag 초과 → primary, 회복되면 다시 replica")
+    void fallsBackWhileLagging() {
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 30");
+        monitor.check();
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(monitor.snapshot()).containsEntry("available", false).containsEntry("lagSeconds", 30L);
+
+        replicaJdbc.update("UPDATE replica_lag SET seconds = 1");
+        monitor.check();
+        assertThat(read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("replica 연결 실패 → 같은 요청을 primary 로, 다음 확인까지 primary")
+    void fallsBackWhenReplicaDown() {
+        monitor.check();
+        replicaDown = true;
+
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(monitor.isAvailable()).isFalse();
+        assertThat(monitor.snapshot().get("fallbacks")).isEqualTo(1L);
+
+        replicaDown = false;
+        monitor.check();
+        assertThat(read(true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("계정 지정 getConnection(user, password) 도 같은 규칙으로 라우팅")
+    void routesConnectionWithCredentials() {
+        monitor.check();
+        DataSource target = new ReplicaRoutingDataSource(primary, replica, monitor);
+
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(true);
+        String name = tx.execute(status -> {
+            try (Connection conn = target.getConnection("sa", "");
+                 ResultSet rs = conn.createStatement().executeQuery("SELECT name FROM marker")) {
+                rs.next();
+                return rs.getString(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertThat(name).isEqualTo("replica");
+    }
+
+    private String read(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(txManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(routing).queryForObject("SELECT name FROM marker", String.class));
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
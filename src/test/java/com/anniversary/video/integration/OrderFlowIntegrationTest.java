@@ -6,6 +6,7 @@ import com.anniversary.video.repository.OrderRepository;
 import com.anniversary.video.service.EventLoggingService;
 import com.anniversary.video.service.NotificationService;
 import com.anniversary.video.service.S3Service;
+import com.anniversary.video.service.SignedUrlCache;
 import com.anniversary.video.service.VideoGenerationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.hamcrest.Matchers;
@@ -21,8 +22,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
@@ -37,10 +40,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * 전체 주문 플로우 통합 테스트 (H2 인메모리 DB)
  * — 외부 API (S3, RunwayML, 솔라피, 슬랙) 전부 Mock
+ * — local 프로필 설정은 쓰되 DB 만 인메모리로 (파일 DB 에 남은 행·시퀀스와 무관하게 매번 빈 스키마에서 시작)
  */
 @SpringBootTest
 @AutoConfigureMockMvc
 @ActiveProfiles("local")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:order-flow;MODE=MySQL;DB_CLOSE_DELAY=-1")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
 class OrderFlowIntegrationTest {
 
@@ -62,6 +67,8 @@ class OrderFlowIntegrationTest {
                 List.of(new S3Service.PresignedUploadInfo(0, "https://s3.test/0", "uploads/1/photo_00.jpg"))
         );
         given(s3Service.generateDownloadUrl(anyString())).willReturn("https://cdn.test/result.mp4");
+        given(s3Service.generateDownloadLink(anyString())).willReturn(
+                new SignedUrlCache.SignedUrl("https://cdn.test/result.mp4", Instant.now().plusSeconds(3600)));
     }
 
     @Test
@@ -241,8 +248,8 @@ class OrderFlowIntegrationTest {
     void step11_filterByStatus() throws Exception {
         mockMvc.perform(get("/admin/orders?status=COMPLETED"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].status").value("COMPLETED"));
+                .andExpect(jsonPath("$.items").isArray())
+                .andExpect(jsonPath("$.items[0].status").value("COMPLETED"));
     }
 
     @Test
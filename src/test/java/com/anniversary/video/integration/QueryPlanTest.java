@@ -0,0 +1,163 @@
+package com.anniversary.video.integration;
+
+import com.anniversary.video.domain.Order;
+import com.anniversary.video.domain.OrderEvent;
+import com.anniversary.video.repository.OrderEventRepository;
+import com.anniversary.video.repository.OrderRepository;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 쿼리 실행 계획 회귀 테스트 — 리포지토리에 선언된 쿼리를 전부 실행해 Hibernate 가 만든 SQL 을 잡고,
+ * H2(MySQL 모드) EXPLAIN 결과에 전체 스캔(.tableScan)이 있으면 실패.
+ * 새 쿼리를 추가했는데 맞는 인덱스가 없으면 여기서 걸림 → 인덱스 추가(엔티티 + Flyway) 또는 허용 목록에 사유 기록.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-plan;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.anniversary.video.integration.QueryPlanTest$SqlCapture"
+})
+class QueryPlanTest {
+
+    /** 전체 스캔을 허용하는 쿼리 — 메서드 → 사유 */
+    private static final Map<String, String> FULL_SCAN_ALLOWED = Map.of(
+            "OrderRepository.aggregateByStatus", "상태별 전체 집계 — 시작 시 + 5분마다 한 번 (DashboardMetrics)");
+
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private OrderEventRepository orderEventRepository;
+    @Autowired private DataSource dataSource;
+
+    @Test
+    @DisplayName("OrderRepository 쿼리 — 전부 인덱스 사용")
+    void orderQueriesUseIndexes() throws Exception {
+        assertNoTableScan(OrderRepository.class, orderRepository);
+    }
+
+    @Test
+    @DisplayName("OrderEventRepository 쿼리 — 전부 인덱스 사용")
+    void orderEventQueriesUseIndexes() throws Exception {
+        assertNoTableScan(OrderEventRepository.class, orderEventRepository);
+    }
+
+    @Test
+    @DisplayName("엔티티 @Index 는 Flyway 마이그레이션에도 있고, 이후에 DROP 되지 않음")
+    void entityIndexesMatchMigrations() throws Exception {
+        StringBuilder migrations = new StringBuilder();
+        Resource[] files = new PathMatchingResourcePatternResolver().getResources("classpath:db/migration/V*.sql");
+        for (Resource file : files) {
+            migrations.append(file.getContentAsString(StandardCharsets.UTF_8).toLowerCase(Locale.ROOT)).append('\n');
+        }
+        String sql = migrations.toString();
+
+        for (Class<?> entity : List.of(Order.class, OrderEvent.class)) {
+            for (Index index : entity.getAnnotation(Table.class).indexes()) {
+                String name = index.name().toLowerCase(Locale.ROOT);
+                assertThat(sql).as("마이그레이션에 인덱스 생성 없음: " + name).containsPattern("index " + name + "\\b");
+                assertThat(sql).as("마이그레이션에서 DROP 된 인덱스: " + name).doesNotContainPattern("drop index " + name + "\\b");
+            }
+        }
+    }
+
+    private void assertNoTableScan(Class<?> repositoryType, Object repository) throws Exception {
+        List<String> violations = new ArrayList<>();
+        for (Method method : repositoryType.getDeclaredMethods()) {
+            if (method.isDefault() || method.isSynthetic()) continue;
+            String name = repositoryType.getSimpleName() + "." + method.getName();
+
+            SqlCapture.STATEMENTS.clear();
+            invoke(method, repository);
+            List<String> selects = SqlCapture.STATEMENTS.stream()
+                    .filter(s -> s.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")).toList();
+            assertThat(selects).as("SQL 캡처 실패: " + name).isNotEmpty();
+
+            for (String select : selects) {
+                String plan = explain(select);
+                if (plan.contains(".tableScan") && !FULL_SCAN_ALLOWED.containsKey(name)) {
+                    violations.add(name + "\n" + plan);
+                }
+            }
+        }
+        assertThat(violations).as("전체 스캔 쿼리 — 인덱스 추가 또는 FULL_SCAN_ALLOWED 에 사유 기록").isEmpty();
+    }
+
+    private static void invoke(Method method, Object repository) throws Exception {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) args[i] = sample(types[i]);
+        try {
+            method.invoke(repository, args);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("쿼리 실행 실패: " + method, e.getCause());
+        }
+    }
+
+    /** 선언 타입별 더미 인자 — 값은 계획과 무관, 모든 필터가 켜지도록 null 은 쓰지 않음 */
+    private static Object sample(Class<?> type) {
+        if (type == String.class) return "x";
+        if (type == Long.class || type == long.class) return 1L;
+        if (type == LocalDateTime.class) return LocalDateTime.now();
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (Pageable.class.isAssignableFrom(type)) return PageRequest.of(0, 20);
+        throw new IllegalArgumentException("더미 인자 미지원 타입: " + type + " — QueryPlanTest.sample 에 추가");
+    }
+
+    /** 바인드 파라미터는 null — H2 는 prepare 시점에 계획을 세우므로 값과 무관 */
+    private String explain(String sql) throws Exception {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (PreparedStatement ps = connection.prepareStatement("EXPLAIN " + sql)) {
+            int params = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= params; i++) ps.setObject(i, null);
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /** Hibernate 가 실행하는 SQL 캡처 (hibernate.session_factory.statement_inspector) */
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
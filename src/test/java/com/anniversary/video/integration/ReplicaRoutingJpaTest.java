@@ -0,0 +1,118 @@
+package com.anniversary.video.integration;
+
+import com.anniversary.video.config.ReplicaDataSourceConfig;
+import com.anniversary.video.config.ReplicaLagMonitor;
+import com.anniversary.video.domain.Order;
+import com.anniversary.video.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * replica 라우팅 JPA 경로 확인 — 실제 ReplicaDataSourceConfig 빈 + JpaTransactionManager + Hibernate 로
+ * H2 두 개(primary / replica)를 붙임. replica 는 primary 스키마만 복사(데이터 없음)라 건수로 어느 쪽에서 읽었는지 구분.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ReplicaDataSourceConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "datasource.replica.url=jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.lag-query=SELECT 0"
+})
+class ReplicaRoutingJpaTest {
+
+    @Autowired private OrderRepository orderRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired @Qualifier("primaryDataSource") private DataSource primary;
+    @Autowired @Qualifier("replicaDataSource") private DataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        // replica 스키마 = Hibernate 가 primary 에 만든 스키마 (복제 대신 DDL 만 복사)
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replica);
+        replicaJdbc.execute("DROP ALL OBJECTS");
+        List<String> ddl = new JdbcTemplate(primary).queryForList("SCRIPT NODATA", String.class);
+        ddl.stream().filter(sql -> !sql.startsWith("--")).forEach(replicaJdbc::execute);
+
+        replicaLagMonitor.check();
+        inTransaction(false, () -> orderRepository.save(Order.builder()
+                .accessToken(UUID.randomUUID().toString())
+                .customerName("홍길동").customerPhone("01012345678").build()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        inTransaction(false, () -> {
+            orderRepository.deleteAll();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("JpaTransactionManager — readOnly 트랜잭션은 replica, 쓰기 트랜잭션은 primary")
+    void routesJpaTransactions() {
+        assertThat(transactionManager).isInstanceOf(JpaTransactionManager.class);
+        assertThat(replicaLagMonitor.isAvailable()).isTrue();
+
+        assertThat(count(true)).isZero();
+        assertThat(count(false)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("open-in-view 처럼 EntityManager 를 공유해도 트랜잭션마다 연결 반납 → 다시 라우팅")
+    void releasesConnectionBetweenTransactions() {
+        EntityManager em = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(em));
+        try {
+            assertThat(count(true)).isZero();
+            assertThat(count(false)).isEqualTo(1);
+            assertThat(count(true)).isZero();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            em.close();
+        }
+    }
+
+    /** 주문 건수 — replica 는 비어 있으므로 0 이면 replica, 1 이면 primary 에서 읽은 것 */
+    private long count(boolean readOnly) {
+        Long count = inTransaction(readOnly, orderRepository::count);
+        return count;
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> work.get());
+    }
+}
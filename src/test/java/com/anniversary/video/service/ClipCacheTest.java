@@ -0,0 +1,54 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClipCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    /** "abc" 의 MD5 — 단일 PUT ETag 형식 (따옴표 포함) */
+    private static final String ABC_ETAG = "\"900150983cd24fb0d6963f7d28e17f72\"";
+
+    @Test
+    @DisplayName("용량 초과 시 가장 오래 안 쓴 클립부터 축출 — 조회한 항목은 최근으로 갱신")
+    void put_evictsLeastRecentlyUsed() throws Exception {
+        ClipCache cache = new ClipCache(tempDir.resolve("cache").toString(), DataSize.ofBytes(6));
+        cache.put("clips/1/a.mp4", write("a", "abc"), ABC_ETAG);
+        cache.put("clips/1/b.mp4", write("b", "abc"), ABC_ETAG);
+
+        assertThat(cache.copyTo("clips/1/a.mp4", tempDir.resolve("out_a"))).isTrue();
+        cache.put("clips/1/c.mp4", write("c", "abc"), ABC_ETAG);
+
+        assertThat(cache.contains("clips/1/a.mp4")).isTrue();
+        assertThat(cache.contains("clips/1/b.mp4")).isFalse();
+        assertThat(cache.contains("clips/1/c.mp4")).isTrue();
+        assertThat(cache.snapshot()).containsEntry("evictions", 1L).containsEntry("hits", 1L);
+    }
+
+    @Test
+    @DisplayName("캐시 파일이 ETag(MD5)와 다르면 폐기하고 미적중 처리 → 호출측이 S3 에서 다운로드")
+    void copyTo_rejectsCorruptedFile() throws Exception {
+        ClipCache cache = new ClipCache(tempDir.resolve("cache").toString(), DataSize.ofMegabytes(1));
+        cache.put("clips/1/a.mp4", write("a", "abc"), ABC_ETAG);
+        Files.writeString(tempDir.resolve("cache/clips_1_a.mp4"), "abd");
+
+        Path target = tempDir.resolve("out_a");
+        assertThat(cache.copyTo("clips/1/a.mp4", target)).isFalse();
+        assertThat(target).doesNotExist();
+        assertThat(cache.contains("clips/1/a.mp4")).isFalse();
+        assertThat(cache.snapshot()).containsEntry("integrityFailures", 1L);
+    }
+
+    private Path write(String name, String content) throws Exception {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+}
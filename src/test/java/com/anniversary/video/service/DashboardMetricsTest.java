@@ -0,0 +1,59 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.Order;
+import com.anniversary.video.domain.OrderStatusChanged;
+import com.anniversary.video.repository.OrderRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardMetricsTest {
+
+    @InjectMocks
+    private DashboardMetrics metrics;
+
+    @Mock private OrderRepository orderRepository;
+
+    @Test
+    @DisplayName("GROUP BY 초기값 + 상태 전이 증감 — 완료/재생성 시 매출 반영")
+    void seedAndTransitions() {
+        given(orderRepository.aggregateByStatus(any(LocalDateTime.class))).willReturn(List.of(
+                new Object[]{Order.OrderStatus.PAID, 2L, 59800L, 1L, 29900L},
+                new Object[]{Order.OrderStatus.COMPLETED, 3L, 89700L, 0L, 29900L}));
+        metrics.seed();
+
+        Order order = Order.builder().id(10L).amount(29900).status(Order.OrderStatus.PAID).build();
+        metrics.onStatusChanged(new OrderStatusChanged(order, null, Order.OrderStatus.PENDING, null));
+        metrics.onStatusChanged(new OrderStatusChanged(order, Order.OrderStatus.PAID, Order.OrderStatus.COMPLETED,
+                LocalDateTime.now().minusDays(2)));
+
+        assertThat(metrics.snapshot())
+                .containsEntry("total", 6L)
+                .containsEntry("pending", 1L)
+                .containsEntry("paid", 1L)
+                .containsEntry("completed", 4L)
+                .containsEntry("revenue", 119600L)
+                .containsEntry("todayOrders", 2L)
+                .containsEntry("todayRevenue", 59800L);
+
+        // 오늘 완료된 건을 재생성(COMPLETED → PAID) → 누적·오늘 매출에서 차감
+        metrics.onStatusChanged(new OrderStatusChanged(order, Order.OrderStatus.COMPLETED, Order.OrderStatus.PAID,
+                LocalDateTime.now()));
+
+        assertThat(metrics.snapshot())
+                .containsEntry("completed", 3L)
+                .containsEntry("revenue", 89700L)
+                .containsEntry("todayRevenue", 29900L);
+    }
+}
@@ -0,0 +1,47 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FfmpegServiceTest {
+
+    @Test
+    @DisplayName("스프라이트 VTT — 2초 간격 타일, 10열 초과 시 다음 행 좌표, 마지막 구간은 영상 길이에서 끝남")
+    void buildSpriteVtt() {
+        String vtt = FfmpegService.buildSpriteVtt(21.5, "sprite.jpg");
+
+        assertThat(vtt).startsWith("WEBVTT\n");
+        assertThat(vtt).contains("00:00:00.000 --> 00:00:02.000\nsprite.jpg#xywh=0,0,160,90\n");
+        assertThat(vtt).contains("00:00:20.000 --> 00:00:21.500\nsprite.jpg#xywh=0,90,160,90\n");
+        assertThat(vtt.split("-->")).hasSize(12);
+        assertThat(FfmpegService.spriteRows(21.5)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("클립 앞부분 구조 — moov 가 mdat 앞이면 URL 직접 입력, 뒤이거나 판단 불가면 로컬 다운로드")
+    void isMoovBeforeMdat() {
+        byte[] faststart = concat(box(24, "ftyp"), box(16, "moov"), box(8, "mdat"));
+        byte[] moovAtEnd = concat(box(24, "ftyp"), box(8, "free"), box(8, "mdat"), box(16, "moov"));
+        byte[] truncated = Arrays.copyOf(box(24, "ftyp"), 20);
+
+        assertThat(FfmpegService.isMoovBeforeMdat(faststart)).isTrue();
+        assertThat(FfmpegService.isMoovBeforeMdat(moovAtEnd)).isFalse();
+        assertThat(FfmpegService.isMoovBeforeMdat(truncated)).isFalse();
+    }
+
+    private static byte[] box(int size, String type) {
+        return ByteBuffer.allocate(size).putInt(size).put(type.getBytes(StandardCharsets.ISO_8859_1)).array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteBuffer buf = ByteBuffer.allocate(Arrays.stream(parts).mapToInt(p -> p.length).sum());
+        for (byte[] p : parts) buf.put(p);
+        return buf.array();
+    }
+}
@@ -0,0 +1,49 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.Order;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+class HlsPlaylistServiceTest {
+
+    @Mock private S3Service s3Service;
+    @InjectMocks private HlsPlaylistService hlsPlaylistService;
+
+    @Test
+    @DisplayName("sprite.vtt — 상대경로 이미지 참조를 서명 URL 로 치환, #xywh 프래그먼트는 유지")
+    void spriteVtt_signsImageReference() {
+        Order order = Order.builder().id(1L).status(Order.OrderStatus.COMPLETED)
+                .s3SpritePath("results/1/sprite.jpg").s3SpriteVttPath("results/1/sprite.vtt").build();
+        given(s3Service.downloadBytes("results/1/sprite.vtt"))
+                .willReturn(FfmpegService.buildSpriteVtt(3.0, "sprite.jpg").getBytes(StandardCharsets.UTF_8));
+        given(s3Service.generateDownloadUrl("results/1/sprite.jpg"))
+                .willReturn("https://bucket.s3/results/1/sprite.jpg?X-Amz-Signature=abc");
+
+        String vtt = hlsPlaylistService.spriteVtt(order);
+
+        assertThat(vtt).startsWith("WEBVTT\n")
+                .contains("https://bucket.s3/results/1/sprite.jpg?X-Amz-Signature=abc#xywh=0,0,")
+                .doesNotContain("\nsprite.jpg#");
+    }
+
+    @Test
+    @DisplayName("스프라이트가 없는 주문(이전 렌더) — 미리보기 없음")
+    void spriteVtt_missing() {
+        Order order = Order.builder().id(1L).status(Order.OrderStatus.COMPLETED)
+                .s3SpriteVttPath("results/1/sprite.vtt").build();
+
+        assertThatThrownBy(() -> hlsPlaylistService.spriteVtt(order))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalStorageBackendTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("서명 URL — 같은 메서드·키·만료로만 검증 통과, 만료/다른 키/다른 메서드는 거부")
+    void presign_verify() {
+        LocalStorageBackend storage = new LocalStorageBackend(tempDir.toString(), "http://localhost:8081/", "secret");
+        String url = storage.presignGet("results/1/final.mp4", Duration.ofMinutes(5));
+
+        assertThat(url).startsWith("http://localhost:8081/storage/results/1/final.mp4?expires=");
+        Map<String, String> query = UriComponentsBuilder.fromUriString(url).build().getQueryParams().toSingleValueMap();
+        long expires = Long.parseLong(query.get("expires"));
+        String sig = query.get("sig");
+
+        assertThat(storage.verify("GET", "results/1/final.mp4", expires, sig)).isTrue();
+        assertThat(storage.verify("PUT", "results/1/final.mp4", expires, sig)).isFalse();
+        assertThat(storage.verify("GET", "results/2/final.mp4", expires, sig)).isFalse();
+        assertThat(storage.verify("GET", "results/1/final.mp4", expires + 60, sig)).isFalse();
+        assertThat(storage.verify("GET", "results/1/final.mp4", 1, sig)).isFalse();   // 만료
+    }
+
+    @Test
+    @DisplayName("저장 → MD5 ETag, 범위 읽기는 파일 끝에서 잘림, 루트 밖 키는 거부")
+    void putBytes_getRange() {
+        LocalStorageBackend storage = new LocalStorageBackend(tempDir.toString(), "http://localhost", "secret");
+
+        String eTag = storage.putBytes("clips/1/a.mp4", "abc".getBytes(StandardCharsets.UTF_8), "video/mp4");
+
+        assertThat(eTag).isEqualTo("\"900150983cd24fb0d6963f7d28e17f72\"");
+        assertThat(storage.getRange("clips/1/a.mp4", 1, 10)).isEqualTo("bc".getBytes(StandardCharsets.UTF_8));
+        assertThat(storage.head("clips/1/a.mp4")).hasValueSatisfying(info -> assertThat(info.size()).isEqualTo(3));
+        assertThat(storage.head("clips/1/missing.mp4")).isEmpty();
+        assertThatThrownBy(() -> storage.resolve("../outside.txt")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
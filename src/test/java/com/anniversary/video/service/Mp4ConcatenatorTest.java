@@ -0,0 +1,145 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Mp4ConcatenatorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("같은 코덱 파라미터 클립 2개 → mdat 이어붙임 + 샘플 테이블/청크 오프셋 재계산 (btrt 차이는 무시)")
+    void concat_rebuildsSampleTables() throws Exception {
+        Path a = write("a.mp4", clip(new byte[][]{{1, 1, 1}, {2, 2}, {3}}, 1, 1000));
+        Path b = write("b.mp4", clip(new byte[][]{{4, 4}, {5, 5, 5, 5}}, 1, 9999));
+        Path out = tempDir.resolve("merged.mp4");
+
+        Mp4Concatenator.concat(List.of(a, b), out);
+
+        byte[] merged = Files.readAllBytes(out);
+        int mdat = indexOf(merged, "mdat") - 4;
+        byte[] expectedData = {1, 1, 1, 2, 2, 3, 4, 4, 5, 5, 5, 5};
+        assertThat(ByteBuffer.wrap(merged).getInt(mdat)).isEqualTo(8 + expectedData.length);
+        assertThat(slice(merged, mdat + 8, expectedData.length)).isEqualTo(expectedData);
+
+        ByteBuffer stsz = payload(merged, "stsz");
+        assertThat(stsz.getInt(8)).isEqualTo(5);
+        ByteBuffer stco = payload(merged, "stco");
+        assertThat(stco.getInt(4)).isEqualTo(2);
+        assertThat(merged[stco.getInt(8)]).isEqualTo((byte) 1);
+        assertThat(merged[stco.getInt(12)]).isEqualTo((byte) 4);
+        ByteBuffer stss = payload(merged, "stss");
+        assertThat(stss.getInt(4)).isEqualTo(2);
+        assertThat(stss.getInt(12)).isEqualTo(4);   // b의 첫 샘플 = 전체 4번째
+        ByteBuffer mdhd = payload(merged, "mdhd");
+        assertThat(mdhd.getInt(16)).isEqualTo(5 * 512);
+        assertThat(indexOf(merged, "btrt")).isNegative();
+    }
+
+    @Test
+    @DisplayName("코덱 파라미터(avcC)가 다르면 IllegalStateException → 호출측 ffmpeg 폴백")
+    void concat_rejectsMismatchedCodecParameters() throws Exception {
+        Path a = write("a.mp4", clip(new byte[][]{{1}}, 1, 1000));
+        Path b = write("b.mp4", clip(new byte[][]{{2}}, 2, 1000));
+
+        assertThatThrownBy(() -> Mp4Concatenator.concat(List.of(a, b), tempDir.resolve("merged.mp4")))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("stsd");
+    }
+
+    // ── 테스트용 최소 MP4 (ftyp, mdat, moov — 비디오 트랙 1개, 청크 1개) ──
+    private static byte[] clip(byte[][] samples, int profile, int bitrate) {
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        for (byte[] s : samples) data.writeBytes(s);
+        byte[] ftyp = box("ftyp", ascii("isom"), ints(512), ascii("isomavc1"));
+        int mdatOffset = ftyp.length;
+        byte[] mdat = box("mdat", data.toByteArray());
+
+        int n = samples.length;
+        ByteBuffer stszBody = ByteBuffer.allocate(12 + 4 * n).putInt(0).putInt(0).putInt(n);
+        for (byte[] s : samples) stszBody.putInt(s.length);
+
+        byte[] avc1 = box("avc1", new byte[78],
+                box("avcC", new byte[]{1, (byte) profile, 0, 40}),
+                box("btrt", ints(0, bitrate, bitrate)));
+        byte[] stbl = box("stbl",
+                box("stsd", ints(0, 1), avc1),
+                box("stts", ints(0, 1, n, 512)),
+                box("stss", ints(0, 1, 1)),
+                box("stsc", ints(0, 1, 1, n, 1)),
+                box("stsz", stszBody.array()),
+                box("stco", ints(0, 1, mdatOffset + 8)));
+        byte[] moov = box("moov",
+                box("mvhd", ints(0, 0, 0, 1000, n * 33), new byte[80]),
+                box("trak",
+                        box("tkhd", ints(0x00000003, 0, 0, 1, 0, n * 33), new byte[60]),
+                        box("edts", box("elst", ints(0, 1, n * 33, 1024, 0x00010000))),
+                        box("mdia",
+                                box("mdhd", ints(0, 0, 0, 15360, n * 512, 0)),
+                                box("hdlr", ints(0, 0), ascii("vide"), new byte[13]),
+                                box("minf", stbl))));
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.writeBytes(ftyp);
+        file.writeBytes(mdat);
+        file.writeBytes(moov);
+        return file.toByteArray();
+    }
+
+    private Path write(String name, byte[] bytes) throws Exception {
+        return Files.write(tempDir.resolve(name), bytes);
+    }
+
+    private static byte[] box(String type, byte[]... parts) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (byte[] p : parts) body.writeBytes(p);
+        return ByteBuffer.allocate(8 + body.size())
+                .putInt(8 + body.size()).put(ascii(type)).put(body.toByteArray()).array();
+    }
+
+    private static byte[] ints(int... values) {
+        ByteBuffer buf = ByteBuffer.allocate(4 * values.length);
+        for (int v : values) buf.putInt(v);
+        return buf.array();
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static ByteBuffer payload(byte[] file, String type) {
+        int at = indexOf(file, type);
+        int size = ByteBuffer.wrap(file).getInt(at - 4);
+        return ByteBuffer.wrap(slice(file, at + 4, size - 8));
+    }
+
+    private static byte[] slice(byte[] bytes, int from, int length) {
+        byte[] out = new byte[length];
+        System.arraycopy(bytes, from, out, 0, length);
+        return out;
+    }
+
+    private static int indexOf(byte[] haystack, String type) {
+        byte[] needle = ascii(type);
+        outer:
+        for (int i = 0; i + needle.length <= haystack.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+}
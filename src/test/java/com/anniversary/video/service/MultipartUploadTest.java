@@ -0,0 +1,119 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.ChecksumAlgorithm;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MultipartUploadTest {
+
+    private S3Client s3Client;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        s3Client = mock(S3Client.class);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("병렬 전송이 늦게 끝나도 파트 번호는 제출 순서 그대로 병합, 파트마다 SHA-256 체크섬 요청")
+    void complete_keepsPartOrder() throws Exception {
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class))).willAnswer(inv -> {
+            UploadPartRequest req = inv.getArgument(0);
+            if (req.partNumber() == 1) Thread.sleep(200);   // 첫 파트가 가장 늦게 끝남
+            return UploadPartResponse.builder()
+                    .eTag("etag-" + req.partNumber()).checksumSHA256("sum-" + req.partNumber()).build();
+        });
+        MultipartUpload upload = new MultipartUpload(s3Client, "bucket", "results/1/final.mp4", "up-1", executor);
+
+        for (int i = 0; i < 3; i++) upload.submitPart(new byte[]{(byte) i});
+        assertThat(upload.complete()).isEqualTo("results/1/final.mp4");
+
+        assertThat(completedParts()).extracting(CompletedPart::partNumber, CompletedPart::eTag)
+                .containsExactly(
+                        tuple(1, "etag-1"),
+                        tuple(2, "etag-2"),
+                        tuple(3, "etag-3"));
+        ArgumentCaptor<UploadPartRequest> requests = ArgumentCaptor.forClass(UploadPartRequest.class);
+        verify(s3Client, times(3)).uploadPart(requests.capture(), any(RequestBody.class));
+        assertThat(requests.getAllValues()).allSatisfy(req ->
+                assertThat(req.checksumAlgorithm()).isEqualTo(ChecksumAlgorithm.SHA256));
+    }
+
+    @Test
+    @DisplayName("일시적 SdkException 은 재시도 — 파트는 체크섬과 함께 완료")
+    void uploadPart_retriesTransientFailure() throws Exception {
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .willThrow(SdkClientException.create("connection reset"))
+                .willReturn(UploadPartResponse.builder().eTag("etag-1").checksumSHA256("sum-1").build());
+        MultipartUpload upload = new MultipartUpload(s3Client, "bucket", "results/1/final.mp4", "up-1", executor);
+
+        upload.submitPart(new byte[]{1});
+        upload.complete();
+
+        verify(s3Client, times(2)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        assertThat(completedParts()).singleElement()
+                .satisfies(part -> assertThat(part.checksumSHA256()).isEqualTo("sum-1"));
+        verify(s3Client, never()).abortMultipartUpload(any(Consumer.class));
+    }
+
+    @Test
+    @DisplayName("재시도 후에도 실패 — 다음 파트 제출은 즉시 거부, complete 는 abort 후 예외")
+    void complete_abortsOnPermanentFailure() throws Exception {
+        given(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .willThrow(SdkClientException.create("access denied"));
+        MultipartUpload upload = new MultipartUpload(s3Client, "bucket", "results/1/final.mp4", "up-1", Runnable::run);
+
+        upload.submitPart(new byte[]{1});
+
+        assertThatThrownBy(() -> upload.submitPart(new byte[]{2}))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이전 파트 업로드 실패");
+        assertThatThrownBy(upload::complete)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("multipart 업로드 실패");
+        verify(s3Client, times(3)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client).abortMultipartUpload(any(Consumer.class));
+        verify(s3Client, never()).completeMultipartUpload(any(Consumer.class));
+    }
+
+    /** completeMultipartUpload(Consumer) 에 넘긴 요청을 만들어 파트 목록 확인 */
+    @SuppressWarnings("unchecked")
+    private List<CompletedPart> completedParts() {
+        ArgumentCaptor<Consumer<CompleteMultipartUploadRequest.Builder>> captor = ArgumentCaptor.forClass(Consumer.class);
+        verify(s3Client).completeMultipartUpload(captor.capture());
+        CompleteMultipartUploadRequest.Builder builder = CompleteMultipartUploadRequest.builder();
+        captor.getValue().accept(builder);
+        return builder.build().multipartUpload().parts();
+    }
+}
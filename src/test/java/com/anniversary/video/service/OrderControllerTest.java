@@ -1,6 +1,7 @@
 package com.anniversary.video.service;
 
 import com.anniversary.video.controller.OrderController;
+import com.anniversary.video.domain.Order;
 import com.anniversary.video.dto.OrderCreateRequest;
 import com.anniversary.video.dto.OrderCreateResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,11 +10,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -23,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(OrderController.class)
+@Import(OrderStatusCache.class)
 @TestPropertySource(properties = {
         "portone.store-id=test-store-id",
         "portone.channel-key=test-channel-key"
@@ -34,6 +38,8 @@ class OrderControllerTest {
     @MockBean  OrderService orderService;
     @MockBean  S3Service s3Service;
     @MockBean  VideoGenerationService videoGenerationService;
+    @MockBean  HlsPlaylistService hlsPlaylistService;
+    @MockBean  OrderEventBroadcaster orderEventBroadcaster;
 
     @Test
     @DisplayName("POST /api/orders - 정상 주문 200 응답")
@@ -107,4 +113,25 @@ class OrderControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].id").value("bgm_01"));
     }
+
+    @Test
+    @DisplayName("GET /api/orders/t/{token}/status - ETag 일치 시 304, 반복 조회는 캐시에서")
+    @WithMockUser
+    void getOrderStatus_etagAndCache() throws Exception {
+        Order order = Order.builder().id(7L).accessToken("tok-7").status(Order.OrderStatus.PROCESSING)
+                .photoCount(10).updatedAt(LocalDateTime.now()).build();
+        given(orderService.findByAccessToken("tok-7")).willReturn(order);
+
+        String etag = mockMvc.perform(get("/api/orders/t/tok-7/status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PROCESSING"))
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "max-age=5"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/orders/t/tok-7/status").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        then(orderService).should(times(1)).findByAccessToken("tok-7");
+    }
 }
@@ -0,0 +1,38 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderEventBroadcasterTest {
+
+    @Test
+    @DisplayName("주문당 연결 5개 초과 시 거절 — 전체 연결 수는 그대로")
+    void perOrderLimit() {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(Runnable::run, 100, Duration.ofMinutes(1));
+        for (int i = 0; i < 5; i++) broadcaster.subscribe("tok", Map::of);
+
+        assertThatThrownBy(() -> broadcaster.subscribe("tok", Map::of))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(broadcaster.snapshot())
+                .containsEntry("connections", 5L)
+                .containsEntry("orders", 1);
+    }
+
+    @Test
+    @DisplayName("전체 연결 상한 초과 시 거절")
+    void globalLimit() {
+        OrderEventBroadcaster broadcaster = new OrderEventBroadcaster(Runnable::run, 2, Duration.ofMinutes(1));
+        broadcaster.subscribe("a", Map::of);
+        broadcaster.subscribeAdmin();
+
+        assertThatThrownBy(() -> broadcaster.subscribe("b", Map::of))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(broadcaster.snapshot()).containsEntry("connections", 2L);
+    }
+}
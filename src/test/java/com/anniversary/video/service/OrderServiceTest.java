@@ -1,6 +1,7 @@
 package com.anniversary.video.service;
 
 import com.anniversary.video.domain.Order;
+import com.anniversary.video.domain.OrderPhoto;
 import com.anniversary.video.dto.OrderCreateRequest;
 import com.anniversary.video.dto.OrderCreateResponse;
 import com.anniversary.video.repository.OrderPhotoRepository;
@@ -16,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -33,6 +35,8 @@ class OrderServiceTest {
     @Mock private OrderPhotoRepository orderPhotoRepository;
     @Mock private S3Service s3Service;
     @Mock private EventLoggingService eventLoggingService;
+    @Mock private PhotoIngestService photoIngestService;
+    @Mock private OrderStatusCache orderStatusCache;
 
     private OrderCreateRequest validRequest;
 
@@ -69,6 +73,7 @@ class OrderServiceTest {
         assertThat(resp.getAmount()).isEqualTo(29900);
         assertThat(resp.getPresignedUrls()).isNotEmpty();
         then(orderRepository).should(times(1)).save(any());
+        then(orderPhotoRepository).should(times(1)).saveAll(any());
         then(eventLoggingService).should().log(eq(1L), eq("order_created"), any());
     }
 
@@ -112,6 +117,21 @@ class OrderServiceTest {
         assertThat(result.getGenMinutes()).isGreaterThan(BigDecimal.ZERO);
     }
 
+    @Test
+    @DisplayName("완료 처리 — 세로/공유용 링크도 메인 링크와 같이 서명해서 저장")
+    void markAsCompleted_signsVariantUrls() {
+        Order order = Order.builder().id(1L).status(Order.OrderStatus.PROCESSING).build();
+        given(orderRepository.findById(1L)).willReturn(Optional.of(order));
+        given(orderRepository.save(any())).willReturn(order);
+        given(s3Service.generateDownloadUrl("results/1/vertical.mp4")).willReturn("https://cdn.example.com/vertical");
+
+        orderService.markAsCompleted(1L, new FfmpegService.RenderOutputs(
+                "results/1/final.mp4", "results/1/vertical.mp4", null, null, null), "https://cdn.example.com/dl");
+
+        assertThat(order.getVerticalDownloadUrl()).isEqualTo("https://cdn.example.com/vertical");
+        assertThat(order.getShareDownloadUrl()).isNull();
+    }
+
     @Test
     @DisplayName("실패 처리 - 메모 + failureStage 저장")
     void markAsFailed_withStage() {
@@ -147,4 +167,57 @@ class OrderServiceTest {
         assertThat(result.getGenMinutes()).isNull();
         assertThat(result.getFailureStage()).isNull();
     }
+
+    @Test
+    @DisplayName("업로드 완료 — 기존 사진 행은 수정, 줄어든 슬롯만 삭제 (전체 삭제 후 재삽입 없음)")
+    void handleUploadComplete_diffUpsert() {
+        Order order = Order.builder().id(1L).status(Order.OrderStatus.PAID).build();
+        OrderPhoto p0 = OrderPhoto.builder().id(10L).order(order).s3Key("uploads/1/photo_00.jpg").sortOrder(0)
+                .photoHash("ffff").build();
+        OrderPhoto p1 = OrderPhoto.builder().id(11L).order(order).s3Key("uploads/1/photo_01.jpg").sortOrder(1).build();
+        OrderPhoto p2 = OrderPhoto.builder().id(12L).order(order).s3Key("uploads/1/photo_02.jpg").sortOrder(2).build();
+        given(orderRepository.findById(1L)).willReturn(Optional.of(order));
+        given(orderPhotoRepository.findByOrderIdOrderBySortOrder(1L)).willReturn(List.of(p0, p1, p2));
+
+        OrderService.UploadCompleteResult result = orderService.handleUploadComplete(1L, Map.of(
+                "photos", List.of(
+                        Map.of("s3Key", "uploads/1/photo_00.jpg", "caption", "첫 만남"),
+                        Map.of("s3Key", "uploads/1/photo_01.jpg", "caption", "여행"))),
+                Map.of("uploads/1/photo_01.jpg",
+                        new PhotoIngestService.Ingested("0f0f", "uploads/1/normalized/photo_01.jpg")));
+
+        assertThat(result.photoCount()).isEqualTo(2);
+        assertThat(p0.getCaption()).isEqualTo("첫 만남");
+        assertThat(p0.getPhotoHash()).isNull();
+        assertThat(p0.getNormalizedS3Key()).isNull();
+        assertThat(p1.getPhotoHash()).isEqualTo("0f0f");
+        assertThat(p1.getNormalizedS3Key()).isEqualTo("uploads/1/normalized/photo_01.jpg");
+        then(orderPhotoRepository).should().deleteAll(List.of(p2));
+        then(orderPhotoRepository).should().saveAll(List.of(p0, p1));
+        then(photoIngestService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("중복 확인 재요청 — 키가 그대로인 사진은 저장된 해시·정규화본 재사용, 바뀐 사진만 다시 처리")
+    void ingestUploadedPhotos_reusesOnConfirmation() {
+        Order order = Order.builder().id(1L).status(Order.OrderStatus.PAID).build();
+        OrderPhoto p0 = OrderPhoto.builder().id(10L).order(order).s3Key("uploads/1/photo_00.jpg").sortOrder(0)
+                .photoHash("ffff").normalizedS3Key("uploads/1/normalized/photo_00.jpg").build();
+        OrderPhoto p1 = OrderPhoto.builder().id(11L).order(order).s3Key("uploads/1/photo_01.jpg").sortOrder(1)
+                .photoHash("fffe").build();
+        PhotoIngestService.Ingested fresh = new PhotoIngestService.Ingested("1234", "uploads/1/normalized/photo_02.jpg");
+        given(orderRepository.findById(1L)).willReturn(Optional.of(order));
+        given(orderPhotoRepository.findByOrderIdOrderBySortOrder(1L)).willReturn(List.of(p0, p1));
+        given(photoIngestService.ingest(1L, List.of("uploads/1/photo_02.jpg")))
+                .willReturn(Map.of("uploads/1/photo_02.jpg", fresh));
+
+        Map<String, PhotoIngestService.Ingested> ingested = orderService.ingestUploadedPhotos(1L, Map.of(
+                "s3Keys", List.of("uploads/1/photo_00.jpg", "uploads/1/photo_02.jpg"),
+                "confirmDuplicates", true));
+
+        assertThat(ingested)
+                .containsEntry("uploads/1/photo_00.jpg",
+                        new PhotoIngestService.Ingested("ffff", "uploads/1/normalized/photo_00.jpg"))
+                .containsEntry("uploads/1/photo_02.jpg", fresh);
+    }
 }
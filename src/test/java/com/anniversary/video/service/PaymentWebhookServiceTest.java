@@ -0,0 +1,151 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.WebhookReceipt;
+import com.anniversary.video.repository.WebhookReceiptRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentWebhookServiceTest {
+
+    @Mock private WebhookReceiptRepository receiptRepository;
+    @Mock private PaymentService paymentService;
+    @Mock private NotificationService notificationService;
+
+    private PaymentWebhookService service;
+
+    private final Map<String, Object> payload = Map.of("type", "Transaction.Paid", "paymentId", "pay-1");
+    private final String payloadJson = "{\"type\":\"Transaction.Paid\",\"paymentId\":\"pay-1\"}";
+
+    @BeforeEach
+    void setUp() {
+        // 동기 실행자 — 처리 결과를 바로 검증
+        service = new PaymentWebhookService(receiptRepository, paymentService, notificationService,
+                new ObjectMapper(), Runnable::run, Duration.ofDays(7));
+    }
+
+    @Test
+    @DisplayName("첫 수신은 본문과 함께 기록 → 처리 후 완료 기록")
+    void firstDelivery() throws Exception {
+        given(receiptRepository.findById("wh-1")).willReturn(Optional.of(receipt("wh-1", 0)));
+
+        assertThat(service.receive("wh-1", payload)).isTrue();
+
+        ArgumentCaptor<String> stored = ArgumentCaptor.forClass(String.class);
+        verify(receiptRepository).insert(eq("wh-1"), any(LocalDateTime.class), stored.capture(), any(LocalDateTime.class));
+        assertThat(new ObjectMapper().readValue(stored.getValue(), Map.class)).isEqualTo(payload);
+        verify(paymentService).handleWebhook(payload);
+        verify(receiptRepository).markProcessed(eq("wh-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    @DisplayName("같은 webhook-id 재전송은 처리하지 않음")
+    void duplicateIgnored() {
+        given(receiptRepository.insert(eq("wh-1"), any(), anyString(), any()))
+                .willThrow(new DataIntegrityViolationException("dup"));
+        given(receiptRepository.claim(eq("wh-1"), any(), any())).willReturn(0);
+
+        assertThat(service.receive("wh-1", payload)).isFalse();
+
+        verify(paymentService, never()).handleWebhook(any());
+    }
+
+    @Test
+    @DisplayName("처리 실패 — 기록을 지우지 않고 백오프 후 재시도 예약")
+    void failureSchedulesRetry() {
+        given(receiptRepository.findById("wh-1")).willReturn(Optional.of(receipt("wh-1", 0)));
+        willThrow(new IllegalStateException("포트원 조회 실패")).given(paymentService).handleWebhook(payload);
+
+        assertThat(service.receive("wh-1", payload)).isTrue();
+
+        ArgumentCaptor<LocalDateTime> next = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(receiptRepository).markFailed(eq("wh-1"), next.capture(), anyString());
+        assertThat(next.getValue()).isAfter(LocalDateTime.now().plusSeconds(20));
+        verify(receiptRepository, never()).deleteById(any());
+        verify(receiptRepository, never()).markProcessed(any(), any());
+    }
+
+    @Test
+    @DisplayName("MAX_ATTEMPTS 번째 실패 — 재시도 중단 + 관리자 알림")
+    void finalFailureAlerts() {
+        given(receiptRepository.findById("wh-1"))
+                .willReturn(Optional.of(receipt("wh-1", PaymentWebhookService.MAX_ATTEMPTS - 1)));
+        willThrow(new IllegalStateException("boom")).given(paymentService).handleWebhook(payload);
+
+        service.process("wh-1");
+
+        verify(receiptRepository).markFailed(eq("wh-1"), isNull(), anyString());
+        verify(notificationService).sendWebhookFailureAlert(eq("wh-1"), eq(PaymentWebhookService.MAX_ATTEMPTS), anyString());
+    }
+
+    @Test
+    @DisplayName("재시작으로 남은 미처리 기록 — 스케줄러가 임대 후 저장된 본문으로 처리")
+    void sweepProcessesLeftoverReceipts() {
+        given(receiptRepository.findDueIds(any(), any())).willReturn(List.of("wh-1", "wh-2"));
+        given(receiptRepository.claim(eq("wh-1"), any(), any())).willReturn(1);
+        given(receiptRepository.claim(eq("wh-2"), any(), any())).willReturn(0);   // 다른 인스턴스가 가져감
+        given(receiptRepository.findById("wh-1")).willReturn(Optional.of(receipt("wh-1", 2)));
+
+        service.retryDue();
+
+        verify(paymentService).handleWebhook(payload);
+        verify(receiptRepository).markProcessed(eq("wh-1"), any(LocalDateTime.class));
+        verify(receiptRepository, never()).findById("wh-2");
+    }
+
+    @Test
+    @DisplayName("실행 큐 포화 — 기록은 남기고 스케줄러 재시도로 넘김 (수신은 성공)")
+    void rejectedSubmitReschedules() {
+        service = new PaymentWebhookService(receiptRepository, paymentService, notificationService,
+                new ObjectMapper(), task -> { throw new RejectedExecutionException("full"); }, Duration.ofDays(7));
+
+        assertThat(service.receive("wh-1", payload)).isTrue();
+
+        verify(receiptRepository).reschedule(eq("wh-1"), any(LocalDateTime.class));
+        verify(receiptRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("백오프 — 30초부터 두 배, 최대 1시간")
+    void backoffGrows() {
+        assertThat(PaymentWebhookService.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(PaymentWebhookService.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(PaymentWebhookService.backoff(9)).isEqualTo(Duration.ofHours(1));
+    }
+
+    @Test
+    @DisplayName("webhook-id 헤더가 없으면 type:paymentId 로 중복 판단")
+    void fallbackKey() {
+        assertThat(PaymentWebhookService.dedupeKey(null, payload)).isEqualTo("Transaction.Paid:pay-1");
+        assertThat(PaymentWebhookService.dedupeKey("wh-9", payload)).isEqualTo("wh-9");
+    }
+
+    private WebhookReceipt receipt(String id, int attempts) {
+        return WebhookReceipt.builder().webhookId(id).receivedAt(LocalDateTime.now())
+                .payload(payloadJson).attempts(attempts).build();
+    }
+}
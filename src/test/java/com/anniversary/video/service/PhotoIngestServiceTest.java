@@ -0,0 +1,137 @@
+package com.anniversary.video.service;
+
+import com.anniversary.video.domain.OrderPhoto;
+import com.anniversary.video.repository.OrderPhotoRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import javax.imageio.ImageIO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class PhotoIngestServiceTest {
+
+    @Test
+    @DisplayName("12MP 원본 → 긴 변 1280 이하 JPEG로 축소")
+    void normalizeImage_downscalesToTarget() throws Exception {
+        byte[] original = PhotoIngestService.encodeJpeg(
+                new BufferedImage(4000, 3000, BufferedImage.TYPE_INT_RGB), 0.9f);
+
+        byte[] normalized = PhotoIngestService.normalizeImage(original);
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(normalized));
+
+        assertThat(result.getWidth()).isEqualTo(1280);
+        assertThat(result.getHeight()).isEqualTo(960);
+        assertThat(normalized.length).isLessThan(original.length);
+    }
+
+    @Test
+    @DisplayName("EXIF Orientation=6 → 시계 90도 회전 (좌상단이 우상단으로)")
+    void orientAndScale_rotatesClockwise() {
+        BufferedImage src = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = src.createGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(0, 0, 20, 20);
+        g.dispose();
+
+        BufferedImage rotated = PhotoIngestService.orientAndScale(src, 6, 1280);
+
+        assertThat(rotated.getWidth()).isEqualTo(300);
+        assertThat(rotated.getHeight()).isEqualTo(400);
+        assertThat(new Color(rotated.getRGB(295, 5)).getRed()).isGreaterThan(200);
+    }
+
+    @Test
+    @DisplayName("Exif APP1 세그먼트에서 Orientation 태그 파싱, 없으면 1")
+    void readExifOrientation() {
+        byte[] withExif = {
+                (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE1, 0, 34,
+                'E', 'x', 'i', 'f', 0, 0,
+                'M', 'M', 0, 42, 0, 0, 0, 8,
+                0, 1, 0x01, 0x12, 0, 3, 0, 0, 0, 1, 0, 6, 0, 0,
+                0, 0, 0, 0
+        };
+        byte[] notJpeg = {(byte) 0x89, 'P', 'N', 'G'};
+
+        assertThat(PhotoIngestService.readExifOrientation(withExif)).isEqualTo(6);
+        assertThat(PhotoIngestService.readExifOrientation(notJpeg)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("같은 사진의 다른 해상도 → dHash 거리 작음, 다른 사진 → 큼")
+    void dHash_nearDuplicate() throws Exception {
+        byte[] large = PhotoIngestService.encodeJpeg(gradient(4000, 3000, false), 0.9f);
+        byte[] small = PhotoIngestService.encodeJpeg(gradient(800, 600, false), 0.6f);
+        byte[] other = PhotoIngestService.encodeJpeg(gradient(4000, 3000, true), 0.9f);
+
+        String a = PhotoIngestService.dHash(large);
+        String b = PhotoIngestService.dHash(small);
+        String c = PhotoIngestService.dHash(other);
+
+        assertThat(PhotoIngestService.hammingDistance(a, b))
+                .isLessThanOrEqualTo(PhotoIngestService.DUPLICATE_MAX_DISTANCE);
+        assertThat(PhotoIngestService.hammingDistance(a, c))
+                .isGreaterThan(PhotoIngestService.DUPLICATE_MAX_DISTANCE);
+    }
+
+    @Test
+    @DisplayName("업로드 처리 — 원본 1회 다운로드로 정규화본 저장 + dHash, 제작 단계는 다시 받지 않음")
+    void ingest_downloadsOnce() throws Exception {
+        S3Service s3Service = mock(S3Service.class);
+        PhotoIngestService service = new PhotoIngestService(s3Service, mock(OrderPhotoRepository.class), Runnable::run);
+        byte[] original = PhotoIngestService.encodeJpeg(gradient(4000, 3000, false), 0.9f);
+        given(s3Service.downloadBytes("uploads/1/photo_00.png")).willReturn(original);
+
+        Map<String, PhotoIngestService.Ingested> result = service.ingest(1L, List.of("uploads/1/photo_00.png"));
+
+        PhotoIngestService.Ingested ingested = result.get("uploads/1/photo_00.png");
+        assertThat(ingested.normalizedS3Key()).isEqualTo("uploads/1/normalized/photo_00.jpg");
+        assertThat(PhotoIngestService.hammingDistance(ingested.photoHash(), PhotoIngestService.dHash(original)))
+                .isLessThanOrEqualTo(PhotoIngestService.DUPLICATE_MAX_DISTANCE);
+        verify(s3Service).uploadBytes(any(byte[].class), eq("uploads/1/normalized/photo_00.jpg"), eq("image/jpeg"));
+
+        OrderPhoto photo = OrderPhoto.builder().sortOrder(0).s3Key("uploads/1/photo_00.png")
+                .normalizedS3Key(ingested.normalizedS3Key()).photoHash(ingested.photoHash()).build();
+        service.normalizeAll(1L, List.of(photo));
+        verify(s3Service, times(1)).downloadBytes(any());
+    }
+
+    @Test
+    @DisplayName("주문 내 중복 감지 — 뒤 사진이 앞 사진의 중복으로 보고됨")
+    void findNearDuplicates() {
+        List<OrderPhoto> photos = List.of(
+                OrderPhoto.builder().sortOrder(0).photoHash("f0f0f0f0f0f0f0f0").build(),
+                OrderPhoto.builder().sortOrder(1).photoHash("0f0f0f0f0f0f0f0f").build(),
+                OrderPhoto.builder().sortOrder(2).photoHash("f0f0f0f0f0f0f0f1").build(),
+                OrderPhoto.builder().sortOrder(3).photoHash(null).build());
+
+        List<PhotoIngestService.DuplicatePhoto> duplicates = PhotoIngestService.findNearDuplicates(photos);
+
+        assertThat(duplicates).containsExactly(new PhotoIngestService.DuplicatePhoto(2, 0, 1));
+    }
+
+    private static BufferedImage gradient(int w, int h, boolean vertical) {
+        BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        for (int i = 0; i < 8; i++) {
+            g.setColor(new Color((i * 97) % 256, (i * 53) % 256, (i * 31) % 256));
+            if (vertical) g.fillRect(0, i * h / 8, w, h / 8 + 1);
+            else g.fillRect(i * w / 8, 0, w / 8 + 1, h);
+        }
+        g.dispose();
+        return img;
+    }
+}
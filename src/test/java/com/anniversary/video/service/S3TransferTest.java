@@ -0,0 +1,73 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class S3TransferTest {
+
+    @TempDir
+    Path dir;
+
+    private S3AsyncClient client;
+    private S3Transfer transfer;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(S3AsyncClient.class);
+        transfer = new S3Transfer(client);
+        ReflectionTestUtils.setField(transfer, "bucket", "test-bucket");
+    }
+
+    @Test
+    @DisplayName("0바이트 객체 — 첫 범위 416 이면 범위 없이 다시 받아 빈 파일로")
+    void download_emptyObject() throws Exception {
+        given(client.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class))).willAnswer(inv -> {
+            GetObjectRequest req = inv.getArgument(0);
+            if (req.range() != null) return CompletableFuture.failedFuture(status(416));
+            return CompletableFuture.completedFuture(
+                    ResponseBytes.fromByteArray(GetObjectResponse.builder().contentLength(0L).build(), new byte[0]));
+        });
+        Path target = dir.resolve("empty.mp4");
+        Files.writeString(target, "이전 내용");
+
+        transfer.download("clips/1/empty.mp4", target).join();
+
+        assertThat(target).exists();
+        assertThat(Files.size(target)).isZero();
+    }
+
+    @Test
+    @DisplayName("416 외 오류는 그대로 실패")
+    void download_otherErrorFails() {
+        given(client.getObject(any(GetObjectRequest.class), any(AsyncResponseTransformer.class)))
+                .willReturn(CompletableFuture.failedFuture(status(403)));
+
+        assertThatThrownBy(() -> transfer.download("clips/1/denied.mp4", dir.resolve("denied.mp4")).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(S3Exception.class);
+    }
+
+    private static S3Exception status(int statusCode) {
+        return (S3Exception) S3Exception.builder().statusCode(statusCode).message("HTTP " + statusCode).build();
+    }
+}
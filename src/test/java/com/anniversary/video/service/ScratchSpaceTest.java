@@ -0,0 +1,96 @@
+package com.anniversary.video.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScratchSpaceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final long MB = 1 << 20;
+
+    @Test
+    @DisplayName("예산 초과 두 번째 주문은 첫 lease 반환까지 대기 → 반환 후 할당, 반환 시 디렉터리 삭제")
+    void acquire_waitsForRelease() throws Exception {
+        ScratchSpace scratch = scratch(Duration.ofSeconds(10));
+        ScratchSpace.Lease first = scratch.acquire(1L, 3 * MB, 3 * MB);
+
+        CompletableFuture<ScratchSpace.Lease> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return scratch.acquire(2L, 3 * MB, 3 * MB);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(300);
+        assertThat(second).isNotDone();
+
+        first.close();
+        ScratchSpace.Lease lease = second.get(5, TimeUnit.SECONDS);
+
+        assertThat(first.workDir()).doesNotExist();
+        assertThat(first.outputDir()).doesNotExist();
+        assertThat(lease.workDir()).isDirectory();
+        assertThat(scratch.snapshot()).containsEntry("activeLeases", 1);
+        lease.close();
+        assertThat(scratch.snapshot()).containsEntry("activeLeases", 0);
+    }
+
+    @Test
+    @DisplayName("활성 작업이 없으면 예산보다 큰 단독 주문도 통과, 그동안 들어온 주문은 admission-timeout 후 실패")
+    void acquire_admitsLoneOversizedOrder() throws Exception {
+        ScratchSpace scratch = scratch(Duration.ofMillis(200));
+
+        try (ScratchSpace.Lease lease = scratch.acquire(1L, 50 * MB, 50 * MB)) {
+            assertThat(lease.workDir()).isDirectory();
+            assertThat(lease.outputDir()).isDirectory();
+
+            assertThatThrownBy(() -> scratch.acquire(2L, MB, MB))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("orderId: 2");
+        }
+    }
+
+    @Test
+    @DisplayName("정리 — lease 없는 오래된 디렉터리만 삭제, 활성 lease·최근 디렉터리는 유지")
+    void sweepOrphans_skipsLeasedDirectories() throws Exception {
+        ScratchSpace scratch = scratch(Duration.ofSeconds(1));
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+
+        try (ScratchSpace.Lease lease = scratch.acquire(1L, MB, MB)) {
+            Files.setLastModifiedTime(lease.workDir(), old);
+            Path orphan = Files.createDirectories(tempDir.resolve("work/99-1"));
+            Files.writeString(orphan.resolve("merged.mp4"), "x");
+            Files.setLastModifiedTime(orphan, old);
+            Path recent = Files.createDirectories(tempDir.resolve("work/98-1"));
+
+            assertThat(scratch.sweepOrphans()).isEqualTo(1);
+
+            assertThat(orphan).doesNotExist();
+            assertThat(recent).isDirectory();
+            assertThat(lease.workDir()).isDirectory();
+        }
+    }
+
+    /** 예산 4MB, min-free-disk 0 — 테스트 디스크 여유와 무관하게 예산으로만 판정 */
+    private ScratchSpace scratch(Duration admissionTimeout) {
+        return new ScratchSpace(
+                tempDir.resolve("work").toString(), DataSize.ofMegabytes(4),
+                tempDir.resolve("output").toString(), DataSize.ofMegabytes(4),
+                DataSize.ofBytes(0), admissionTimeout);
+    }
+}